@@ -0,0 +1,110 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Load test of the servlet and reactive read stacks over real HTTP: each operation opens `concurrency`
+// simultaneous requests for the top 50 salaries (the response cache is off, so every request queries the database)
+// and waits for all of them. Besides the time per batch it reports the peak JVM thread count, the heap in use
+// after the batch and the number of failed requests. "servlet-virtual" is the servlet stack on virtual threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ConcurrentReadsBenchmark {
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"servlet", "servlet-virtual", "reactive"})
+    private String stack;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Resources {
+        public long peakThreads;
+        public long heapUsedMb;
+        public long failedRequests;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(PayrollApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.accept-count=" + concurrency,
+                        "spring.datasource.url=jdbc:h2:mem:payroll-benchmark-" + System.nanoTime(),
+                        "spring.threads.virtual.enabled=" + stack.equals("servlet-virtual"),
+                        "payroll.response-cache.enabled=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        H2BenchmarkContext.seed(context, EMPLOYEES);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String path = stack.equals("reactive") ? "/api/v2/employees/top-salaries/50" : "/api/employees/top-salaries/50";
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentReads(Resources resources) {
+        threads.resetPeakThreadCount();
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] responses = new CompletableFuture[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.handle((result, error) -> error == null && result.statusCode() == 200).join() == Boolean.FALSE) {
+                resources.failedRequests++;
+            }
+        }
+        resources.peakThreads = Math.max(resources.peakThreads, threads.getPeakThreadCount());
+        resources.heapUsedMb = memory.getHeapMemoryUsage().getUsed() >> 20;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rows per second of the bulk import batch insert compared with one createEmployee() per row
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeImportBenchmark {
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = H2BenchmarkContext.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeJdbcRepository = context.getBean(EmployeeJdbcRepository.class);
+        employees = PayrollDataset.generate(ROWS);
+        employees.forEach(employee -> employee.setId(null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void createEmployeePerRow() {
+        for (Employee employee : employees) {
+            employeeService.createEmployee(new Employee(null, employee.getName(), employee.getRole(),
+                    employee.getSalary(), employee.getDepartment(), employee.getHiringDate()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertBatch() {
+        employeeJdbcRepository.insertBatch(employees);
+    }
+}
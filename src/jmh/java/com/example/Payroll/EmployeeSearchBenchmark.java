@@ -0,0 +1,50 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Latency of a first page (20 matches) from the in-memory search index. The synthetic names are "Employee <n>",
+// so "emp" matches every employee (worst case), "employee 4711" a single one and "dev dep" about a third.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+    @Param({"50000"})
+    private int employees;
+
+    @Param({"employee 4711", "dev dep", "emp"})
+    private String query;
+
+    // 0 measures every search cold, without the per-version result cache
+    @Param({"0", "1000"})
+    private long resultCacheSize;
+
+    private EmployeeSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        index = new EmployeeSearchIndex();
+        index.resultCacheSize = resultCacheSize;
+        index.rebuild(PayrollDataset.generate(employees).stream());
+    }
+
+    @Benchmark
+    public EmployeeSearchResult search() {
+        return index.search(query, 0, 20);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.Payroll;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+// Boots the application without the web layer against a private in-memory H2 database
+final class H2BenchmarkContext {
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private H2BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(PayrollApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:payroll-benchmark-" + System.nanoTime(),
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    static void seed(ConfigurableApplicationContext context, int size) {
+        EmployeeJdbcRepository repository = context.getBean(EmployeeJdbcRepository.class);
+        List<Employee> employees = PayrollDataset.generate(size);
+        for (int from = 0; from < employees.size(); from += SEED_BATCH_SIZE) {
+            repository.insertBatch(employees.subList(from, Math.min(from + SEED_BATCH_SIZE, employees.size())));
+        }
+    }
+}
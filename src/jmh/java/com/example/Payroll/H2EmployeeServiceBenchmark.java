@@ -0,0 +1,67 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// EmployeeService hot paths end to end against embedded H2, with the in-memory aggregates disabled
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class H2EmployeeServiceBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = H2BenchmarkContext.start("payroll.aggregates.enabled=false");
+        H2BenchmarkContext.seed(context, employees);
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double calculatePayroll() {
+        return employeeService.calculatePayroll();
+    }
+
+    @Benchmark
+    public Map<String, List<Employee>> getEmployeesGroupedByDepartment() {
+        return employeeService.getEmployeesGroupedByDepartment();
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> getTopNHighestPaidEmployees() {
+        return employeeService.getTopNHighestPaidEmployees(10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findEmployeesHiredInLastNMonths() {
+        return employeeService.findEmployeesHiredInLastNMonths(6);
+    }
+}
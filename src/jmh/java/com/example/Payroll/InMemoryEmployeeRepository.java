@@ -0,0 +1,51 @@
+package com.example.Payroll;
+
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+// EmployeeRepository stub over a List, answering the queries EmployeeService uses with plain Java so the
+// service can be benchmarked without a database
+final class InMemoryEmployeeRepository {
+    private InMemoryEmployeeRepository() {
+    }
+
+    static EmployeeRepository over(List<Employee> employees) {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> employees;
+                    case "count" -> (long) employees.size();
+                    case "existsByIdIsNotNull" -> !employees.isEmpty();
+                    case "calculateTotalPayroll" -> totalPayroll(employees);
+                    case "findHighestPaid" -> employees.stream()
+                            .sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
+                            .limit(((Pageable) args[0]).getPageSize())
+                            .map(InMemoryEmployeeRepository::summaryOf)
+                            .toList();
+                    case "findHiredAfter" -> employees.stream()
+                            .filter(e -> e.getHiringDate().isAfter((LocalDate) args[0]))
+                            .sorted(Comparator.comparing(Employee::getHiringDate).reversed())
+                            .map(InMemoryEmployeeRepository::summaryOf)
+                            .toList();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryEmployeeRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static double totalPayroll(List<Employee> employees) {
+        double total = 0;
+        for (Employee employee : employees) {
+            total += PayrollRules.calculatePayroll(employee.getRole(), employee.getSalary());
+        }
+        return total;
+    }
+
+    private static EmployeeSummary summaryOf(Employee e) {
+        return new EmployeeSummary(e.getId(), e.getName(), e.getRole(), e.getSalary(), e.getDepartment(), e.getHiringDate());
+    }
+}
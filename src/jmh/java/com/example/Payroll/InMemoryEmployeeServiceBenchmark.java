@@ -0,0 +1,62 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// EmployeeService hot paths against InMemoryEmployeeRepository: measures the Java side of each endpoint
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryEmployeeServiceBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        employeeService = new EmployeeService();
+        ReflectionTestUtils.setField(employeeService, "employeeRepository",
+                InMemoryEmployeeRepository.over(PayrollDataset.generate(employees)));
+        ReflectionTestUtils.setField(employeeService, "payrollAggregates", new PayrollAggregates());
+        ReflectionTestUtils.setField(employeeService, "writeBehindBuffer", new WriteBehindBuffer());
+    }
+
+    @Benchmark
+    public double calculatePayroll() {
+        return employeeService.calculatePayroll();
+    }
+
+    @Benchmark
+    public Map<String, List<Employee>> getEmployeesGroupedByDepartment() {
+        return employeeService.getEmployeesGroupedByDepartment();
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> getTopNHighestPaidEmployees() {
+        return employeeService.getTopNHighestPaidEmployees(10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findEmployeesHiredInLastNMonths() {
+        return employeeService.findEmployeesHiredInLastNMonths(6);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Exact fork/join payroll over a columnar snapshot at increasing parallelism; compare with PayrollKernelBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelPayrollBenchmark {
+    @Param({"1000000"})
+    private int employees;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private PayrollSnapshot snapshot;
+    private ParallelPayrollCalculator calculator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        snapshot = new PayrollSnapshot(employees);
+        for (Employee employee : PayrollDataset.generate(employees)) {
+            snapshot.add(employee.getRole(), employee.getSalary());
+        }
+        calculator = new ParallelPayrollCalculator();
+        ReflectionTestUtils.setField(calculator, "chunkSize", 65_536);
+        ReflectionTestUtils.setField(calculator, "maxParallelism", Math.max(parallelism, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        calculator.shutdown();
+    }
+
+    @Benchmark
+    public long exactCents() {
+        return calculator.totalPayrollCents(snapshot, parallelism);
+    }
+}
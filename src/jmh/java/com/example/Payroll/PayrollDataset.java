@@ -0,0 +1,30 @@
+package com.example.Payroll;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic employees shared by all benchmarks
+final class PayrollDataset {
+    static final String[] ROLES = {"Manager", "Developer", "Intern", "Analyst", "DevOps Engineer", "developer"};
+
+    private PayrollDataset() {
+    }
+
+    static List<Employee> generate(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    (long) i + 1,
+                    "Employee " + i,
+                    ROLES[random.nextInt(ROLES.length)],
+                    (double) (25_000 + random.nextInt(125_000)),
+                    "Department " + random.nextInt(20),
+                    today.minusDays(random.nextInt(3650))));
+        }
+        return employees;
+    }
+}
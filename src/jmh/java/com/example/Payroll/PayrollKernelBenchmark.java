@@ -0,0 +1,64 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-entity PayrollRules loop compared with PayrollKernel over a columnar snapshot; run with -prof gc for B/op
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PayrollKernelBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    private List<Employee> entities;
+    private PayrollSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        entities = PayrollDataset.generate(employees);
+        snapshot = new PayrollSnapshot(entities.size());
+        for (Employee employee : entities) {
+            snapshot.add(employee.getRole(), employee.getSalary());
+        }
+    }
+
+    @Benchmark
+    public double perEmployeeLoop() {
+        double total = 0;
+        for (Employee employee : entities) {
+            total += PayrollRules.calculatePayroll(employee.getRole(), employee.getSalary());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double kernel() {
+        return PayrollKernel.totalPayroll(snapshot);
+    }
+
+    @Benchmark
+    public double snapshotAndKernel() {
+        PayrollSnapshot fresh = new PayrollSnapshot(entities.size());
+        for (Employee employee : entities) {
+            fresh.add(employee.getRole(), employee.getSalary());
+        }
+        return PayrollKernel.totalPayroll(fresh);
+    }
+}
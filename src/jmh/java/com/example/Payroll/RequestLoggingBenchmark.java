@@ -0,0 +1,81 @@
+package com.example.Payroll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Latency percentiles of a cached GET /api/employees/{id} through AccessLogFilter with every request logged,
+// comparing logging off, synchronous appenders (sync-logging profile) and the default asynchronous appenders.
+// Log files are written to a temporary directory.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RequestLoggingBenchmark {
+    @Param({"off", "sync", "async"})
+    private String logging;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long employeeId;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Path logDirectory = Files.createTempDirectory("payroll-logs");
+        List<String> properties = new ArrayList<>(List.of(
+                "logging.config=classpath:logback-spring.xml",
+                "logging.file.name=" + logDirectory.resolve("payroll-system.log"),
+                "payroll.logging.access.file=" + logDirectory.resolve("access.log"),
+                "payroll.logging.access.sample-rate=1.0",
+                "logging.level.root=INFO"));
+        if (logging.equals("off")) {
+            // the access logger has its own level in logback-spring.xml, which root=OFF does not reach
+            properties.add("logging.level.root=OFF");
+            properties.add("logging.level.com.example.Payroll.access=OFF");
+        } else if (logging.equals("sync")) {
+            properties.add("spring.profiles.active=sync-logging");
+        }
+        context = H2BenchmarkContext.start(properties.toArray(String[]::new));
+        H2BenchmarkContext.seed(context, 1000);
+        employeeId = context.getBean(EmployeeRepository.class).findPageAfter(0, PageRequest.of(0, 1)).get(0).getId();
+        mockMvc = MockMvcBuilders.standaloneSetup(context.getBean(EmployeeController.class))
+                .addFilters(context.getBean(AccessLogFilter.class))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getEmployeeById() throws Exception {
+        return mockMvc.perform(get("/api/employees/{id}", employeeId)).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Payroll;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode time of the full employee list: "json" is the List<Employee> body of GET /api/employees,
+// "smile" and "cbor" the array streamed row by row by the binary export. The payload size of each format is
+// printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private List<Employee> employees;
+    private ObjectMapper mapper;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // configured like the application ObjectMapper
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        mapper = switch (format) {
+            case "smile" -> json.copyWith(new SmileFactory());
+            case "cbor" -> json.copyWith(new CBORFactory());
+            default -> json;
+        };
+        employees = PayrollDataset.generate(size);
+        payload = encode();
+        System.out.printf("%n%s payload for %d employees: %d bytes%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (format.equals("json")) {
+            return mapper.writeValueAsBytes(employees);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                writer.writeValue(generator, employee);
+            }
+            generator.writeEndArray();
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public List<Employee> decode() throws IOException {
+        return mapper.readValue(payload, EMPLOYEE_LIST);
+    }
+}
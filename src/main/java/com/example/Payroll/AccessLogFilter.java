@@ -0,0 +1,96 @@
+package com.example.Payroll;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One structured line per sampled request on the "com.example.Payroll.access" logger, replacing per-call INFO
+// lines in the controllers. Server errors and slow requests are always logged; everything else is sampled at
+// payroll.logging.access.sample-rate. Streaming responses are logged when the async request completes.
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+    static final String ACCESS_LOGGER = "com.example.Payroll.access";
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+    @Value("${payroll.logging.access.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${payroll.logging.access.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+            } else {
+                log(request, response.getStatus(), start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start) {
+        long durationNanos = System.nanoTime() - start;
+        boolean always = status >= 500 || durationNanos >= slowThreshold.toNanos();
+        if (!always && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        accessLog.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("query", request.getQueryString())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationNanos / 1_000_000)
+                .addKeyValue("sampled", !always)
+                .log("request");
+    }
+
+    private class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
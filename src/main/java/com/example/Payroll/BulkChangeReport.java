@@ -0,0 +1,43 @@
+package com.example.Payroll;
+
+// Outcome of a set-based change. For a dry run the change was rolled back and the figures show what it would do.
+public class BulkChangeReport {
+    private final String operation;
+    private final boolean dryRun;
+    private final int affectedRows;
+    private final double totalPayrollBefore;
+    private final double totalPayrollAfter;
+
+    public BulkChangeReport(String operation, boolean dryRun, int affectedRows, double totalPayrollBefore,
+                            double totalPayrollAfter) {
+        this.operation = operation;
+        this.dryRun = dryRun;
+        this.affectedRows = affectedRows;
+        this.totalPayrollBefore = totalPayrollBefore;
+        this.totalPayrollAfter = totalPayrollAfter;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public int getAffectedRows() {
+        return affectedRows;
+    }
+
+    public double getTotalPayrollBefore() {
+        return totalPayrollBefore;
+    }
+
+    public double getTotalPayrollAfter() {
+        return totalPayrollAfter;
+    }
+
+    public double getPayrollDelta() {
+        return totalPayrollAfter - totalPayrollBefore;
+    }
+}
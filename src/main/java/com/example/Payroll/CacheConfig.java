@@ -0,0 +1,34 @@
+package com.example.Payroll;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPLOYEES_CACHE = "employees";
+
+    // Caffeine evicts with W-TinyLFU once maximum-size is reached and drops entries after the TTL.
+    // Evictions are deferred until after commit when a transaction is active, so a reader can never
+    // re-cache a row that is about to be overwritten. Every tenant gets its own caches of that size.
+    @Bean
+    public CacheManager cacheManager(@Value("${payroll.cache.employees.maximum-size:10000}") long maximumSize,
+                                     @Value("${payroll.cache.employees.time-to-live:5m}") Duration timeToLive) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES_CACHE);
+        cacheManager.setCaffeine(caffeine);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(new TenantCacheManager(cacheManager, caffeine));
+    }
+}
@@ -1,13 +1,74 @@
 package com.example.Payroll;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface CustomEmployeeRepository extends JpaRepository<Employee, Long> {
+    // Same rules as PayrollRules#getBaseSalaryForRole and PayrollRules#calculateBonus
+    String BASE_SALARY_EXPRESSION = "CASE LOWER(e.role) WHEN 'manager' THEN 80000.0 WHEN 'developer' THEN 60000.0 " +
+            "WHEN 'intern' THEN 30000.0 ELSE 50000.0 END";
+    String PAYROLL_EXPRESSION = "e.salary + e.salary * CASE WHEN e.salary > 1.2 * (" + BASE_SALARY_EXPRESSION + ") " +
+            "THEN 0.1 ELSE 0.05 END";
+
     @Query("SELECT e FROM Employee e WHERE e.department = :departmentName")
     List<Employee> findByDepartmentName(@Param("departmentName") String departmentName);
-}
 
+    // Keyset page: rows strictly after the given id, served by the primary key index
+    @Query("SELECT e FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(" + PAYROLL_EXPRESSION + "), 0.0) FROM Employee e")
+    double calculateTotalPayroll();
+
+    @Query("SELECT new com.example.Payroll.PayrollGroupTotals(e.department, LOWER(e.role), COUNT(e), COUNT(e.salary), " +
+            "SUM(e.salary), SUM(" + PAYROLL_EXPRESSION + ")) FROM Employee e GROUP BY e.department, LOWER(e.role)")
+    List<PayrollGroupTotals> calculatePayrollTotalsByDepartmentAndRole();
+
+    boolean existsByIdIsNotNull();
+
+    @Query("SELECT COALESCE(SUM(e.salary), 0.0) FROM Employee e WHERE LOWER(e.role) = LOWER(:role)")
+    double sumSalaryByRole(@Param("role") String role);
+
+    @Query("SELECT new com.example.Payroll.DepartmentSalaryStats(e.department, COUNT(e), AVG(e.salary)) " +
+            "FROM Employee e WHERE e.department = :departmentName GROUP BY e.department")
+    Optional<DepartmentSalaryStats> findSalaryStatsByDepartment(@Param("departmentName") String departmentName);
+
+    @Query("SELECT new com.example.Payroll.DepartmentSalaryStats(e.department, COUNT(e), AVG(e.salary), " +
+            "MIN(e.salary), MAX(e.salary), SUM(e.salary)) FROM Employee e GROUP BY e.department ORDER BY e.department NULLS LAST")
+    List<DepartmentSalaryStats> findSalaryStatsForAllDepartments();
+
+    @Query("SELECT new com.example.Payroll.EmployeeSummary(e.id, e.name, e.role, e.salary, e.department, e.hiringDate) " +
+            "FROM Employee e WHERE e.salary IS NOT NULL ORDER BY e.salary DESC")
+    List<EmployeeSummary> findHighestPaid(Pageable pageable);
+
+    @Query("SELECT new com.example.Payroll.EmployeeSummary(e.id, e.name, e.role, e.salary, e.department, e.hiringDate) " +
+            "FROM Employee e WHERE e.hiringDate > :cutoffDate ORDER BY e.hiringDate DESC")
+    List<EmployeeSummary> findHiredAfter(@Param("cutoffDate") LocalDate cutoffDate);
+
+    // Set-based changes: each runs as one UPDATE or DELETE statement and returns the number of affected rows.
+    // They bypass the persistence context, so it is flushed before and cleared after the statement.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.salary = e.salary * :factor, e.version = e.version + 1 " +
+            "WHERE e.department = :departmentName AND e.salary IS NOT NULL")
+    int scaleSalariesByDepartment(@Param("departmentName") String departmentName, @Param("factor") double factor);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.salary = e.salary * :factor, e.version = e.version + 1 " +
+            "WHERE LOWER(e.role) = LOWER(:role) AND e.salary IS NOT NULL")
+    int scaleSalariesByRole(@Param("role") String role, @Param("factor") double factor);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.department = :departmentName")
+    int deleteAllByDepartmentName(@Param("departmentName") String departmentName);
+}
@@ -0,0 +1,57 @@
+package com.example.Payroll;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version of the employee data as a whole, bumped after every committed write. Collection reads use it as their
+// ETag, so an unchanged If-None-Match is answered with 304 before any query runs. The start time is part of the
+// ETag so tags from before a restart never match. Every tenant has its own version, and tenants other than the
+// default one have their id in the ETag, so a tag never matches another tenant's data.
+@Component
+public class DataVersion {
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public String getETag() {
+        String tenantId = TenantContext.getTenantId();
+        String tenant = TenantContext.DEFAULT_TENANT.equals(tenantId) ? "" : tenantId + "-";
+        return "\"" + Long.toString(startedAt, 36) + "-" + tenant + version().counter.get() + "\"";
+    }
+
+    public long getLastModified() {
+        return version().lastModified;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+        bump();
+    }
+
+    void bump() {
+        Version version = version();
+        version.lastModified = System.currentTimeMillis();
+        version.counter.incrementAndGet();
+    }
+
+    private Version version() {
+        return versions.computeIfAbsent(TenantContext.getTenantId(), tenantId -> new Version(startedAt));
+    }
+
+    private static class Version {
+        private final AtomicLong counter = new AtomicLong();
+        private volatile long lastModified;
+
+        Version(long lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.Payroll;
+
+// Salary statistics of one department, computed by the database
+public class DepartmentSalaryStats {
+    // Reporting name for employees without a department
+    public static final String UNASSIGNED = "Unassigned";
+
+    private final String department;
+    private final long employeeCount;
+    private final double averageSalary;
+    private final Double minSalary;
+    private final Double maxSalary;
+    private final double totalSalary;
+
+    public DepartmentSalaryStats(String department, long employeeCount, Double averageSalary) {
+        this(department, employeeCount, averageSalary, null, null, null);
+    }
+
+    public DepartmentSalaryStats(String department, long employeeCount, Double averageSalary,
+                                 Double minSalary, Double maxSalary, Double totalSalary) {
+        this.department = department != null ? department : UNASSIGNED;
+        this.employeeCount = employeeCount;
+        this.averageSalary = averageSalary != null ? averageSalary : 0.0;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.totalSalary = totalSalary != null ? totalSalary : 0.0;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public Double getMinSalary() {
+        return minSalary;
+    }
+
+    public Double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+}
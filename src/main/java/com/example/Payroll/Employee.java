@@ -15,6 +15,8 @@ public  class Employee {
     private Double salary;
     private String department;
     private LocalDate hiringDate;
+    @Version
+    private Long version;
 
 
     public Employee() {
@@ -73,4 +75,10 @@ public  class Employee {
     public void setHiringDate(LocalDate hiringDate) {
         this.hiringDate = hiringDate;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/employees/bulk")
+public class EmployeeBulkController {
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @PostMapping("/raise")
+    public ResponseEntity<BulkChangeReport> raiseSalaries(@RequestParam(required = false) String department,
+                                                          @RequestParam(required = false) String role,
+                                                          @RequestParam double percentage,
+                                                          @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(employeeBulkService.raiseSalaries(department, role, percentage, dryRun));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BulkChangeReport> deleteDepartment(@RequestParam String department,
+                                                             @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(employeeBulkService.deleteDepartment(department, dryRun));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntSupplier;
+
+// Salary revisions and deletions for a whole department or role. Each runs as a single UPDATE or DELETE statement
+// instead of loading and saving every employee. A dry run executes the statement in a transaction that is then
+// rolled back, so the report shows exactly the rows it would touch without changing anything.
+@Service
+public class EmployeeBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    // Raises (or with a negative percentage, lowers) the salary of every employee in the department or role
+    public BulkChangeReport raiseSalaries(String department, String role, double percentage, boolean dryRun) {
+        boolean byDepartment = department != null && !department.isBlank();
+        boolean byRole = role != null && !role.isBlank();
+        if (byDepartment == byRole) {
+            throw new InvalidDataException("Specify either a department or a role");
+        }
+        if (!Double.isFinite(percentage) || percentage <= -100) {
+            throw new InvalidDataException("Percentage must be greater than -100");
+        }
+        double factor = 1 + percentage / 100;
+        return execute("raise", dryRun, () -> {
+            if (byDepartment) {
+                int affectedRows = employeeRepository.scaleSalariesByDepartment(department, factor);
+                salaryHistoryRepository.recordDepartmentChanges(department);
+                return affectedRows;
+            }
+            int affectedRows = employeeRepository.scaleSalariesByRole(role, factor);
+            salaryHistoryRepository.recordRoleChanges(role);
+            return affectedRows;
+        });
+    }
+
+    public BulkChangeReport deleteDepartment(String department, boolean dryRun) {
+        if (department == null || department.isBlank()) {
+            throw new InvalidDataException("Department is required");
+        }
+        return execute("delete", dryRun, () -> {
+            salaryHistoryRepository.closeDepartment(department);
+            return employeeRepository.deleteAllByDepartmentName(department);
+        });
+    }
+
+    private BulkChangeReport execute(String operation, boolean dryRun, IntSupplier statement) {
+        if (!dryRun && writeBehindBuffer.hasPending()) {
+            // a buffered update written after the statement would overwrite its result
+            writeBehindBuffer.flush();
+        }
+        BulkChangeReport report = transactionTemplate.execute(status -> {
+            double payrollBefore = employeeRepository.calculateTotalPayroll();
+            int affectedRows = statement.getAsInt();
+            double payrollAfter = employeeRepository.calculateTotalPayroll();
+            if (dryRun) {
+                status.setRollbackOnly();
+            } else if (affectedRows > 0) {
+                // both take effect after commit: the cache clear is deferred by the transaction-aware cache and
+                // the event reloads the payroll aggregates and moves the collection ETag
+                cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+                eventPublisher.publishEvent(new EmployeesBulkChangedEvent(operation, affectedRows));
+            }
+            return new BulkChangeReport(operation, dryRun, affectedRows, payrollBefore, payrollAfter);
+        });
+        logger.info("Bulk {} {} {} employees", operation, dryRun ? "would affect" : "affected", report.getAffectedRows());
+        return report;
+    }
+}
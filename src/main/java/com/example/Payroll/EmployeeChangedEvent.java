@@ -0,0 +1,25 @@
+package com.example.Payroll;
+
+// Published by EmployeeService after a single employee is created, updated or deleted.
+// before is null for a create and after is null for a delete; both are detached copies.
+public class EmployeeChangedEvent {
+    private final Employee before;
+    private final Employee after;
+
+    public EmployeeChangedEvent(Employee before, Employee after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public Employee getBefore() {
+        return before;
+    }
+
+    public Employee getAfter() {
+        return after;
+    }
+
+    public Long getEmployeeId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -2,39 +2,140 @@ package com.example.Payroll;
 import com.example.Payroll.Exceptions.DepartmentNotFoundException;
 import com.example.Payroll.Exceptions.EmployeeNotFoundException;
 import com.example.Payroll.Exceptions.InvalidDataException;
+import com.example.Payroll.Exceptions.PreconditionFailedException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private ObjectProvider<DataSource> dataSource;
+
+    // Set when read-only work may be served by a read replica
+    private ReplicaRoutingDataSource replicaRouting;
+
+    // Copies of the application ObjectMapper (modules, date format) writing Smile and CBOR instead of JSON
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+
+    @PostConstruct
+    void initBinaryMappers() throws SQLException {
+        smileMapper = objectMapper.copyWith(new SmileFactory());
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+        DataSource routing = dataSource.getIfAvailable();
+        if (routing != null && routing.isWrapperFor(ReplicaRoutingDataSource.class)) {
+            replicaRouting = routing.unwrap(ReplicaRoutingDataSource.class);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        logger.info("GET /api/employees");
-        List<Employee> employees = employeeService.getAllEmployees();
-        logger.info("Retrieved {} employees", employees.size());
-        return ResponseEntity.ok(employees);
+    public void getAllEmployees(ServletWebRequest request) throws IOException {
+        if (notModified(request)) {
+            return;
+        }
+        jsonResponseCache.write("employees", employeeService::getAllEmployees, request.getRequest(), request.getResponse());
+    }
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Employee>> getEmployeesPage(@RequestParam(defaultValue = "0") long after,
+                                                           @RequestParam int limit) {
+        List<Employee> employees = employeeService.getEmployeesAfter(after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(employees.size()==limit){
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(employees.get(employees.size()-1).getId()));
+        }
+        return response.body(employees);
+    }
+    // A cursor without a limit pages with the default size rather than falling through to the full list
+    @GetMapping(params = {"after", "!limit"})
+    public ResponseEntity<List<Employee>> getEmployeesPageAfter(@RequestParam long after) {
+        return getEmployeesPage(after, EmployeeService.DEFAULT_PAGE_SIZE);
+    }
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n");
+            try (Stream<Employee> employees = employeeService.streamAllEmployees();
+                 JsonGenerator generator = writer.createGenerator(outputStream)) {
+                Iterator<Employee> iterator = employees.iterator();
+                if (iterator.hasNext()) {
+                    while (iterator.hasNext()) {
+                        writer.writeValue(generator, iterator.next());
+                    }
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    // Compact binary encodings of the full list for bulk transfer: one array, written row by row as it is read
+    @GetMapping(produces = APPLICATION_SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsSmile() {
+        return exportEmployeesArray(smileMapper, MediaType.parseMediaType(APPLICATION_SMILE_VALUE));
+    }
+    @GetMapping(produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeesAsCbor() {
+        return exportEmployeesArray(cborMapper, MediaType.APPLICATION_CBOR);
     }
     @GetMapping("/{id}")
-    public ResponseEntity<Optional<Employee>> getEmployeeById(@PathVariable Long id) {
-        logger.info("GET /api/employees/{}", id);
+    public ResponseEntity<Optional<Employee>> getEmployeeById(@PathVariable Long id, WebRequest request) {
         try {
+            // served from the employees cache, so the ETag costs no query. A buffered write-behind change has no
+            // entity version yet, so the data version (bumped when it was buffered) tags the overlaid employee
             Optional<Employee> employee = employeeService.getEmployeeById(id);
-            logger.info("Retrieved employee: {}", employee);
-            return ResponseEntity.ok(employee);
+            Long version = employee.map(Employee::getVersion).orElse(null);
+            String eTag = version != null ? "\"" + version + "\"" : dataVersion.getETag();
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(employee);
         } catch (EmployeeNotFoundException ex) {
-            logger.error("Employee not found with id: {}", id, ex);
+            logger.debug("Employee not found with id: {}", id);
             return ResponseEntity.notFound().build();
         }
     }
@@ -48,24 +149,28 @@ public class EmployeeController {
 
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
-        logger.info("POST /api/employees");
-        if(employee.getName()==null || employee.getRole()==null || employee.getSalary()==null){
+        if(!EmployeeValidator.isValid(employee)){
             throw new InvalidDataException("Invalid data");
         }
         Employee createdEmployee = employeeService.createEmployee(employee);
-        logger.info("Employee created");
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee updatedEmployee) {
-        logger.info("PUT /api/employees/{}",id);
-        Employee employee = employeeService.updateEmployee(id, updatedEmployee);
+    // In write-behind mode the update is buffered and answered with 202; sync=true or an If-Match header
+    // writes it before responding
+    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee updatedEmployee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestParam(defaultValue = "false") boolean sync) {
+        if (!sync && ifMatch == null && employeeService.isWriteBehindEnabled()) {
+            Employee buffered = employeeService.enqueueUpdate(id, updatedEmployee);
+            return buffered != null ? ResponseEntity.accepted().body(buffered) : ResponseEntity.notFound().build();
+        }
+        Employee employee = employeeService.updateEmployee(id, updatedEmployee, expectedVersion(ifMatch));
         if(employee!=null){
-            logger.info("Employee details updated");
-            return ResponseEntity.ok(employee);
+            return ResponseEntity.ok().eTag(String.valueOf(employee.getVersion())).body(employee);
         }else{
-            logger.error("Employee not found with id: {}",id);
+            logger.debug("Employee not found with id: {}",id);
             return ResponseEntity.notFound().build();
         }
     }
@@ -74,17 +179,26 @@ public class EmployeeController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEmployee(@PathVariable Long id) {
-        logger.info("DELETE /api/employees/{}",id);
         employeeService.deleteEmployee(id);
-        logger.info("Employee deleted");
         return ResponseEntity.noContent().build();
     }
 
+    // asOf (yyyy-MM-dd) computes the payroll of a past date from the salary history
     @GetMapping("/payroll")
-    public ResponseEntity<Double> calculatePayroll() {
-        double totalPayroll = employeeService.calculatePayroll();
+    public ResponseEntity<Double> calculatePayroll(@RequestParam(required = false) Integer parallelism,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        double totalPayroll = asOf != null
+                ? employeeService.calculatePayroll(asOf)
+                : parallelism != null
+                ? employeeService.calculatePayroll(parallelism)
+                : employeeService.calculatePayroll();
         return ResponseEntity.ok(totalPayroll);
     }
+    @PostMapping("/payroll/aggregates/reconcile")
+    public ResponseEntity<PayrollAggregates.ReconciliationReport> reconcilePayrollAggregates() {
+        return ResponseEntity.ok(employeeService.reconcilePayrollAggregates());
+    }
     @GetMapping("/department/{departmentName}/average-salary")
     public ResponseEntity<Double> getAverageSalaryByDepartment(@PathVariable String departmentName) {
         if(departmentName==null || departmentName.isEmpty()){
@@ -95,17 +209,72 @@ public class EmployeeController {
         }
     }
     @GetMapping("/grouped-by-department")
-    public ResponseEntity<Map<String, List<Employee>>> getEmployeesGroupedByDepartment() {
-        Map<String, List<Employee>> groupedEmployees = employeeService.getEmployeesGroupedByDepartment();
+    public ResponseEntity<Map<String, List<Employee>>> getEmployeesGroupedByDepartment(WebRequest request) {
+        boolean validated = !readsFromReplica();
+        if (validated && notModified(request)) {
+            return null;
+        }
+        Map<String, List<Employee>> groupedEmployees = readReport(validated, employeeService::getEmployeesGroupedByDepartment);
         if(groupedEmployees.isEmpty()){
             throw new IllegalArgumentException("No record found");
         }
         return ResponseEntity.ok(groupedEmployees);
     }
+    // Writes {"department": [employees...], ...} one group at a time while the rows are read from the database
+    @GetMapping("/grouped-by-department/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployeesGroupedByDepartment(@RequestParam(defaultValue = "0") long offset,
+                                                                                    @RequestParam(required = false) Integer limit,
+                                                                                    WebRequest request) {
+        boolean validated = !readsFromReplica();
+        if (validated && notModified(request)) {
+            return null;
+        }
+        // the cursor is opened by the body, so a body that never runs (aborted request, rejected task) holds no
+        // connection
+        employeeService.validateDepartmentPage(offset, limit);
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (Stream<Employee> employees = readReport(validated,
+                        () -> employeeService.streamEmployeesGroupedByDepartment(offset, limit));
+                 JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                String currentDepartment = null;
+                Iterator<Employee> iterator = employees.iterator();
+                while (iterator.hasNext()) {
+                    Employee employee = iterator.next();
+                    String department = EmployeeService.departmentKey(employee);
+                    if (!department.equals(currentDepartment)) {
+                        if (currentDepartment != null) {
+                            generator.writeEndArray();
+                        }
+                        generator.writeArrayFieldStart(department);
+                        currentDepartment = department;
+                    }
+                    writer.writeValue(generator, employee);
+                }
+                if (currentDepartment != null) {
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    @GetMapping("/grouped-by-department/summary")
+    public ResponseEntity<List<DepartmentSalaryStats>> getDepartmentSummaries(WebRequest request) {
+        boolean validated = !readsFromReplica();
+        if (validated && notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(readReport(validated, employeeService::getDepartmentSummaries));
+    }
     @GetMapping("/top-salaries/{n}")
-    public ResponseEntity<List<Employee>> getTopNHighestPaidEmployees(@PathVariable int n) {
-        List<Employee> topEmployees = employeeService.getTopNHighestPaidEmployees(n);
-        return ResponseEntity.ok(topEmployees);
+    public void getTopNHighestPaidEmployees(@PathVariable int n, ServletWebRequest request) throws IOException {
+        if (notModified(request)) {
+            return;
+        }
+        jsonResponseCache.write("top-salaries/" + n, () -> employeeService.getTopNHighestPaidEmployees(n),
+                request.getRequest(), request.getResponse());
     }
     @GetMapping("/payroll/job-title/{role}")
     public ResponseEntity<Double> calculatePayrollByJobTitle(@PathVariable String role) {
@@ -113,8 +282,56 @@ public class EmployeeController {
         return ResponseEntity.ok(payroll);
     }
     @GetMapping("/hired-in-last/{months}")
-    public ResponseEntity<List<Employee>> findEmployeesHiredInLastNMonths(@PathVariable int months) {
-        List<Employee> employees = employeeService.findEmployeesHiredInLastNMonths(months);
+    public ResponseEntity<List<EmployeeSummary>> findEmployeesHiredInLastNMonths(@PathVariable int months) {
+        List<EmployeeSummary> employees = employeeService.findEmployeesHiredInLastNMonths(months);
         return ResponseEntity.ok(employees);
     }
+
+    private ResponseEntity<StreamingResponseBody> exportEmployeesArray(ObjectMapper mapper, MediaType mediaType) {
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (Stream<Employee> employees = employeeService.streamAllEmployees();
+                 JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Iterator<Employee> iterator = employees.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    // Collection reads: answers If-None-Match / If-Modified-Since from the global data version, before any query
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(dataVersion.getETag(), dataVersion.getLastModified());
+    }
+
+    // Reports validated by the data version must be read from the primary: a lagging replica could return an older
+    // state under the current version, which the client would then revalidate with 304 until the next write. While
+    // the replica serves reads, reports are read from it and sent without validators instead.
+    private boolean readsFromReplica() {
+        return replicaRouting != null && replicaRouting.readsFromReplica();
+    }
+
+    private <T> T readReport(boolean validated, Supplier<T> loader) {
+        return validated ? ReplicaRoutingDataSource.onPrimary(loader) : loader.get();
+    }
+
+    // If-Match carries the ETag of GET /{id}, i.e. the quoted entity version; "*" matches any version
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of the employee");
+    }
 }
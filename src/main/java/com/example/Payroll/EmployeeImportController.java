@@ -0,0 +1,30 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/employees/import")
+public class EmployeeImportController {
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeImportService.importJson(body));
+    }
+
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(employeeImportService.importCsv(body));
+    }
+}
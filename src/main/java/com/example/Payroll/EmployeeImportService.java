@@ -0,0 +1,217 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class EmployeeImportService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    @Value("${payroll.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${payroll.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    // Reads a JSON array of employees element by element, so the upload is never held in memory as a whole
+    public ImportReport importJson(InputStream inputStream) throws IOException {
+        ImportReport report = new ImportReport();
+        Batch batch = new Batch(report);
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidDataException("Expected a JSON array of employees");
+            }
+            long row = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                row++;
+                report.rowReceived();
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    batch.add(row, objectMapper.treeToValue(node, Employee.class));
+                } catch (JsonProcessingException ex) {
+                    report.rowFailed(row, ex.getOriginalMessage(), maxReportedErrors);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new InvalidDataException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        batch.flush();
+        publishImported(report);
+        logger.info("Imported {} of {} employees from JSON", report.getImported(), report.getReceived());
+        return report;
+    }
+
+    // Reads CSV with a header row naming the columns: name, role, salary, department, hiringDate
+    public ImportReport importCsv(InputStream inputStream) throws IOException {
+        ImportReport report = new ImportReport();
+        Batch batch = new Batch(report);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new InvalidDataException("CSV header row is missing");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> header = parseCsvLine(headerLine);
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(), i);
+            }
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                report.rowReceived();
+                try {
+                    batch.add(row, toEmployee(parseCsvLine(line), columns));
+                } catch (NumberFormatException | DateTimeParseException ex) {
+                    report.rowFailed(row, ex.getMessage(), maxReportedErrors);
+                }
+            }
+        }
+        batch.flush();
+        publishImported(report);
+        logger.info("Imported {} of {} employees from CSV", report.getImported(), report.getReceived());
+        return report;
+    }
+
+    private void publishImported(ImportReport report) {
+        if (report.getImported() > 0) {
+            eventPublisher.publishEvent(new EmployeesBulkChangedEvent("import", report.getImported()));
+        }
+    }
+
+    private Employee toEmployee(List<String> values, Map<String, Integer> columns) {
+        Employee employee = new Employee();
+        employee.setName(column(values, columns, "name"));
+        employee.setRole(column(values, columns, "role"));
+        String salary = column(values, columns, "salary");
+        employee.setSalary(salary != null ? Double.valueOf(salary) : null);
+        employee.setDepartment(column(values, columns, "department"));
+        String hiringDate = column(values, columns, "hiringdate");
+        employee.setHiringDate(hiringDate != null ? LocalDate.parse(hiringDate) : null);
+        return employee;
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Splits one CSV record, honouring double-quoted fields and "" escapes
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Collects valid rows and writes them as one JDBC batch per transaction
+    private class Batch {
+        private final ImportReport report;
+        private final List<Employee> employees = new ArrayList<>();
+        private final List<Long> rows = new ArrayList<>();
+
+        Batch(ImportReport report) {
+            this.report = report;
+        }
+
+        void add(long row, Employee employee) {
+            List<String> errors = EmployeeValidator.validate(employee);
+            if (!errors.isEmpty()) {
+                report.rowFailed(row, String.join(", ", errors), maxReportedErrors);
+                return;
+            }
+            employees.add(employee);
+            rows.add(row);
+            if (employees.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (employees.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<Long> ids = employeeJdbcRepository.insertBatch(employees);
+                    salaryHistoryRepository.recordChanges(ids);
+                });
+                report.rowsImported(employees.size());
+            } catch (DataAccessException ex) {
+                logger.warn("Employee import batch of {} rows failed", employees.size(), ex);
+                for (Long row : rows) {
+                    report.rowFailed(row, ex.getMostSpecificCause().getMessage(), maxReportedErrors);
+                }
+            }
+            employees.clear();
+            rows.clear();
+        }
+    }
+}
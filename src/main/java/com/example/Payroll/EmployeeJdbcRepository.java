@@ -0,0 +1,226 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Plain JDBC access to the employees table for paths where loading managed entities is too expensive
+@Repository
+public class EmployeeJdbcRepository {
+    static final String SELECT_EMPLOYEES = "SELECT id, name, role, salary, department, hiring_date, version FROM employees";
+    static final String SELECT_BY_DEPARTMENT = SELECT_EMPLOYEES + " ORDER BY department NULLS LAST, id";
+    // Numbers the rows of each department so a page can be cut out of every group in one pass
+    static final String SELECT_BY_DEPARTMENT_PAGE = "SELECT id, name, role, salary, department, hiring_date, version FROM ("
+            + "SELECT id, name, role, salary, department, hiring_date, version, "
+            + "ROW_NUMBER() OVER (PARTITION BY department ORDER BY id) AS department_row FROM employees) ranked "
+            + "WHERE department_row > ? AND department_row <= ? ORDER BY department NULLS LAST, id";
+    static final String SELECT_PAYROLL_INPUTS = "SELECT role, salary FROM employees WHERE salary IS NOT NULL";
+    static final String UPDATE_EMPLOYEE =
+            "UPDATE employees SET name = ?, role = ?, salary = ?, hiring_date = ?, version = version + 1 WHERE id = ?";
+    static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (name, role, salary, department, hiring_date) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${payroll.jdbc.fetch-size:500}")
+    private int fetchSize;
+
+    // Inserts all employees as a single JDBC batch and returns the ids the identity column generated for them.
+    // On PostgreSQL add reWriteBatchedInserts=true to the JDBC URL to send the batch as multi-row inserts.
+    public List<Long> insertBatch(List<Employee> employees) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_EMPLOYEE, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Employee employee = employees.get(i);
+                        statement.setString(1, employee.getName());
+                        statement.setString(2, employee.getRole());
+                        statement.setObject(3, employee.getSalary(), Types.DOUBLE);
+                        statement.setString(4, employee.getDepartment());
+                        statement.setObject(5, employee.getHiringDate() != null ? Date.valueOf(employee.getHiringDate()) : null, Types.DATE);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return employees.size();
+                    }
+                }, keyHolder);
+        // one single-column row per inserted employee; the column label differs between databases
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    // Writes name, role, salary and hiring date of each employee as a single JDBC batch and bumps their versions
+    public void updateBatch(List<Employee> employees) {
+        jdbcTemplate.batchUpdate(UPDATE_EMPLOYEE, employees, employees.size(), (statement, employee) -> {
+            statement.setString(1, employee.getName());
+            statement.setString(2, employee.getRole());
+            statement.setObject(3, employee.getSalary(), Types.DOUBLE);
+            statement.setObject(4, employee.getHiringDate() != null ? Date.valueOf(employee.getHiringDate()) : null, Types.DATE);
+            statement.setLong(5, employee.getId());
+        });
+    }
+
+    public List<Employee> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT_EMPLOYEES + " WHERE id IN (" + placeholders + ")",
+                EmployeeJdbcRepository::mapEmployee, ids.toArray());
+    }
+
+    // Streams every employee ordered by id. The stream holds a dedicated connection and must be closed by the caller.
+    public Stream<Employee> streamAll() {
+        return stream(SELECT_EMPLOYEES + " ORDER BY id", EmployeeJdbcRepository::mapEmployee);
+    }
+
+    // Streams every employee ordered by department (employees without one last), then id. With a limit, only rows
+    // offset+1 .. offset+limit of each department are returned. The stream must be closed by the caller.
+    public Stream<Employee> streamByDepartment(long offset, Integer limit) {
+        if (offset == 0 && limit == null) {
+            return stream(SELECT_BY_DEPARTMENT, EmployeeJdbcRepository::mapEmployee);
+        }
+        long end = limit != null ? offset + limit : Long.MAX_VALUE;
+        return stream(SELECT_BY_DEPARTMENT_PAGE, EmployeeJdbcRepository::mapEmployee, offset, end);
+    }
+
+    // Reads only the role and salary columns into a columnar snapshot for PayrollKernel
+    public PayrollSnapshot loadPayrollSnapshot() {
+        PayrollSnapshot snapshot = new PayrollSnapshot();
+        try (Cursor cursor = openCursor(SELECT_PAYROLL_INPUTS)) {
+            ResultSet resultSet = cursor.resultSet;
+            while (resultSet.next()) {
+                snapshot.add(resultSet.getString(1), resultSet.getDouble(2));
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Could not load payroll snapshot", ex);
+        }
+        return snapshot;
+    }
+
+    private <T> Stream<T> stream(String sql, RowMapper<T> rowMapper, Object... args) {
+        Cursor cursor = openCursor(sql, args);
+        return StreamSupport.stream(new RowSpliterator<>(cursor.resultSet, rowMapper), false).onClose(cursor::close);
+    }
+
+    // Rows are read with a bounded fetch size inside a read-only transaction on a dedicated connection, so the
+    // driver never buffers the whole result set (PostgreSQL ignores the fetch size in auto-commit mode).
+    private Cursor openCursor(String sql, Object... args) {
+        Cursor cursor = new Cursor();
+        try {
+            cursor.connection = dataSource.getConnection();
+            cursor.connection.setAutoCommit(false);
+            cursor.connection.setReadOnly(true);
+            cursor.statement = cursor.connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            cursor.statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                cursor.statement.setObject(i + 1, args[i]);
+            }
+            cursor.resultSet = cursor.statement.executeQuery();
+            return cursor;
+        } catch (SQLException ex) {
+            cursor.close();
+            throw new DataAccessResourceFailureException("Could not query employees", ex);
+        }
+    }
+
+    private static class Cursor implements AutoCloseable {
+        private Connection connection;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+
+        @Override
+        public void close() {
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (statement != null) {
+                    statement.close();
+                }
+            } catch (SQLException ex) {
+                throw new DataAccessResourceFailureException("Could not close employee cursor", ex);
+            } finally {
+                if (connection != null) {
+                    try {
+                        connection.rollback();
+                        connection.setReadOnly(false);
+                        connection.setAutoCommit(true);
+                        connection.close();
+                    } catch (SQLException ignored) {
+                        // the pool discards broken connections on its own
+                    }
+                }
+            }
+        }
+    }
+
+    static Employee mapEmployee(ResultSet resultSet, int rowNum) throws SQLException {
+        Date hiringDate = resultSet.getDate("hiring_date");
+        double salary = resultSet.getDouble("salary");
+        boolean salaryMissing = resultSet.wasNull();
+        Employee employee = new Employee(
+                resultSet.getLong("id"),
+                resultSet.getString("name"),
+                resultSet.getString("role"),
+                salaryMissing ? null : salary,
+                resultSet.getString("department"),
+                hiringDate != null ? hiringDate.toLocalDate() : null);
+        employee.setVersion(resultSet.getLong("version"));
+        return employee;
+    }
+
+    private static class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+        private int rowNum;
+
+        RowSpliterator(ResultSet resultSet, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                action.accept(rowMapper.mapRow(resultSet, rowNum++));
+                return true;
+            } catch (SQLException ex) {
+                throw new DataAccessResourceFailureException("Could not read employee row", ex);
+            }
+        }
+    }
+}
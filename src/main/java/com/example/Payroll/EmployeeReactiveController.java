@@ -0,0 +1,54 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+// Reactive read API. Requests are answered asynchronously, so no request thread waits for the database while
+// the R2DBC query runs. Lists requested as application/x-ndjson or text/event-stream are streamed with
+// backpressure (the next row is requested once the previous one is written); as JSON they are collected into
+// one array, since Spring MVC would otherwise pick text/event-stream for Accept: */*.
+@RestController
+@RequestMapping("/api/v2/employees")
+public class EmployeeReactiveController {
+    @Autowired
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @GetMapping
+    public Mono<List<Employee>> getAllEmployees() {
+        return reactiveEmployeeService.getAllEmployees().collectList();
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Employee> streamAllEmployees() {
+        return reactiveEmployeeService.getAllEmployees();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Employee> getEmployeeById(@PathVariable long id) {
+        return reactiveEmployeeService.getEmployeeById(id);
+    }
+
+    @GetMapping("/payroll")
+    public Mono<Double> calculatePayroll() {
+        return reactiveEmployeeService.calculatePayroll();
+    }
+
+    @GetMapping("/top-salaries/{n}")
+    public Mono<List<EmployeeSummary>> getTopNHighestPaidEmployees(@PathVariable int n) {
+        return reactiveEmployeeService.getTopNHighestPaidEmployees(n).collectList();
+    }
+
+    @GetMapping("/grouped-by-department")
+    public Mono<Map<String, List<Employee>>> getEmployeesGroupedByDepartment() {
+        return reactiveEmployeeService.getEmployeesGroupedByDepartment();
+    }
+}
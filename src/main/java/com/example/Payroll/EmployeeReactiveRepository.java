@@ -0,0 +1,70 @@
+package com.example.Payroll;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Non-blocking access to the employees table over R2DBC; the queries mirror EmployeeJdbcRepository and
+// CustomEmployeeRepository. Results are emitted row by row as the subscriber requests them.
+@Repository
+public class EmployeeReactiveRepository {
+    static final String SELECT_HIGHEST_PAID = "SELECT id, name, role, salary, department, hiring_date FROM employees "
+            + "WHERE salary IS NOT NULL ORDER BY salary DESC FETCH FIRST :limit ROWS ONLY";
+    static final String SELECT_TOTAL_PAYROLL =
+            "SELECT COALESCE(SUM(" + CustomEmployeeRepository.PAYROLL_EXPRESSION + "), 0.0) AS payroll FROM employees e";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(EmployeeJdbcRepository.SELECT_EMPLOYEES + " ORDER BY id")
+                .map(EmployeeReactiveRepository::mapEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(long id) {
+        return databaseClient.sql(EmployeeJdbcRepository.SELECT_EMPLOYEES + " WHERE id = :id")
+                .bind("id", id)
+                .map(EmployeeReactiveRepository::mapEmployee)
+                .one();
+    }
+
+    // Ordered by department (employees without one last), then id
+    public Flux<Employee> findAllOrderedByDepartment() {
+        return databaseClient.sql(EmployeeJdbcRepository.SELECT_BY_DEPARTMENT)
+                .map(EmployeeReactiveRepository::mapEmployee)
+                .all();
+    }
+
+    public Flux<EmployeeSummary> findHighestPaid(int limit) {
+        return databaseClient.sql(SELECT_HIGHEST_PAID)
+                .bind("limit", limit)
+                .map(row -> new EmployeeSummary(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("role", String.class), row.get("salary", Double.class),
+                        row.get("department", String.class), row.get("hiring_date", LocalDate.class)))
+                .all();
+    }
+
+    public Mono<Double> calculateTotalPayroll() {
+        return databaseClient.sql(SELECT_TOTAL_PAYROLL)
+                .map(row -> row.get("payroll", Double.class))
+                .one();
+    }
+
+    static Employee mapEmployee(Readable row) {
+        Employee employee = new Employee(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("role", String.class),
+                row.get("salary", Double.class),
+                row.get("department", String.class),
+                row.get("hiring_date", LocalDate.class));
+        employee.setVersion(row.get("version", Long.class));
+        return employee;
+    }
+}
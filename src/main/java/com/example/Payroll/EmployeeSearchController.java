@@ -0,0 +1,22 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/employees/search")
+public class EmployeeSearchController {
+    @Autowired
+    private EmployeeSearchService employeeSearchService;
+
+    @GetMapping
+    public ResponseEntity<EmployeeSearchResult> search(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "0") int offset,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(employeeSearchService.search(q, offset, limit));
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.Payroll;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// In-memory prefix index over employee name, role and department for type-ahead search. Every word of the three
+// fields is a key of a sorted map pointing at the employees using it, so all words starting with a prefix are one
+// subMap() range away. A query matches employees having, for every query word, a field word starting with it.
+// The index is built once at startup and then kept up to date from EmployeeChangedEvents; bulk changes rebuild it.
+// Type-ahead repeats the same short prefixes, so results are cached per index version: every change bumps the
+// version, which leaves stale entries unreachable until they are evicted. Every tenant has its own index.
+@Component
+public class EmployeeSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final int NAME_WEIGHT = 3;
+    private static final int ROLE_WEIGHT = 2;
+    private static final int DEPARTMENT_WEIGHT = 1;
+    private static final Comparator<EmployeeSummary> BY_NAME = Comparator
+            .comparing(EmployeeSummary::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(EmployeeSummary::getId);
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt((Scored scored) -> scored.score).reversed()
+            .thenComparing(scored -> scored.employee, BY_NAME);
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Value("${payroll.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payroll.search.index.result-cache-size:1000}")
+    long resultCacheSize = 1000;
+
+    private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(this::load);
+        }
+    }
+
+    public boolean isReady() {
+        return index() != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Index current = index();
+        if (current == null) {
+            return;
+        }
+        if (event.getBefore() != null) {
+            current.remove(event.getBefore().getId());
+        }
+        if (event.getAfter() != null) {
+            current.add(event.getAfter());
+        }
+        current.version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+        if (index() != null) {
+            logger.debug("Rebuilding employee search index after {}", event.getOperation());
+            load();
+        }
+    }
+
+    private void load() {
+        try (Stream<Employee> employees = employeeJdbcRepository.streamAll()) {
+            rebuild(employees);
+        }
+        logger.info("Employee search index of tenant {} built with {} employees",
+                TenantContext.getTenantId(), index().documents.size());
+    }
+
+    // Replaces the index of the current tenant
+    void rebuild(Stream<Employee> employees) {
+        Index rebuilt = new Index(resultCacheSize);
+        employees.forEach(rebuilt::add);
+        indexes.put(TenantContext.getTenantId(), rebuilt);
+    }
+
+    private Index index() {
+        return indexes.get(TenantContext.getTenantId());
+    }
+
+    // Best matches first: an exact word beats a prefix and name beats role beats department; ties are ordered
+    // by name and id. The query word with the fewest postings drives the scan, the others are checked on each
+    // candidate, and only offset + limit matches are kept while ranking. Postings are kept in name order, so
+    // within one word a later tie never outranks a kept match.
+    public EmployeeSearchResult search(String query, int offset, int limit) {
+        Index current = index();
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new EmployeeSearchResult(List.of(), 0);
+        }
+        // the version is read before searching, so a result computed while a change is applied is already stale
+        String key = current.version.get() + " " + offset + " " + limit + " " + String.join(" ", terms);
+        return current.results != null
+                ? current.results.get(key, versionedKey -> search(current, terms, offset, limit))
+                : search(current, terms, offset, limit);
+    }
+
+    private static EmployeeSearchResult search(Index current, List<String> terms, int offset, int limit) {
+        String driver = terms.get(0);
+        long fewest = Long.MAX_VALUE;
+        for (String term : terms) {
+            long postings = current.postings(term);
+            if (postings < fewest) {
+                driver = term;
+                fewest = postings;
+            }
+        }
+        NavigableMap<String, Set<Document>> range = current.withPrefix(driver);
+        // a document with several words starting with the driver is only counted at the first of them
+        boolean severalWords = !range.isEmpty() && !range.firstKey().equals(range.lastKey());
+        PriorityQueue<Scored> best = new PriorityQueue<>(RANKING.reversed());
+        int keep = offset + limit;
+        long total = 0;
+        for (Map.Entry<String, Set<Document>> entry : range.entrySet()) {
+            for (Document document : entry.getValue()) {
+                if (severalWords && !entry.getKey().equals(document.words[document.firstWordStartingWith(driver)])) {
+                    continue;
+                }
+                int score = document.score(terms);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                if (best.size() < keep) {
+                    best.add(new Scored(document.employee, score));
+                } else if (score > best.peek().score || (severalWords && score == best.peek().score)) {
+                    Scored scored = new Scored(document.employee, score);
+                    if (RANKING.compare(scored, best.peek()) < 0) {
+                        best.poll();
+                        best.add(scored);
+                    }
+                }
+            }
+        }
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<EmployeeSummary> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(scored -> scored.employee)
+                .toList();
+        return new EmployeeSearchResult(page, total);
+    }
+
+    // Lower-cased words of letters and digits; everything else separates words
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static class Index {
+        private static final Comparator<Document> POSTING_ORDER = Comparator.comparing(document -> document.employee, BY_NAME);
+
+        private final ConcurrentSkipListMap<String, Set<Document>> words = new ConcurrentSkipListMap<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private final Cache<String, EmployeeSearchResult> results;
+
+        Index(long resultCacheSize) {
+            this.results = resultCacheSize > 0 ? Caffeine.newBuilder().maximumSize(resultCacheSize).build() : null;
+        }
+
+        void add(Employee employee) {
+            Document document = new Document(employee);
+            Document previous = documents.put(employee.getId(), document);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String word : document.words) {
+                words.computeIfAbsent(word, key -> new ConcurrentSkipListSet<>(POSTING_ORDER)).add(document);
+            }
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document != null) {
+                unlink(document);
+            }
+        }
+
+        private void unlink(Document document) {
+            for (String word : document.words) {
+                words.computeIfPresent(word, (key, postings) -> {
+                    postings.remove(document);
+                    return postings.isEmpty() ? null : postings;
+                });
+            }
+        }
+
+        NavigableMap<String, Set<Document>> withPrefix(String prefix) {
+            return words.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        }
+
+        long postings(String prefix) {
+            long postings = 0;
+            for (Set<Document> documents : withPrefix(prefix).values()) {
+                postings += documents.size();
+            }
+            return postings;
+        }
+    }
+
+    private static class Document {
+        private final EmployeeSummary employee;
+        // distinct words of the three fields, sorted, each with the weight of the heaviest field using it
+        private final String[] words;
+        private final int[] weights;
+
+        Document(Employee employee) {
+            this.employee = new EmployeeSummary(employee.getId(), employee.getName(), employee.getRole(),
+                    employee.getSalary(), employee.getDepartment(), employee.getHiringDate());
+            TreeMap<String, Integer> weighted = new TreeMap<>();
+            tokenize(employee.getDepartment()).forEach(word -> weighted.put(word, DEPARTMENT_WEIGHT));
+            tokenize(employee.getRole()).forEach(word -> weighted.put(word, ROLE_WEIGHT));
+            tokenize(employee.getName()).forEach(word -> weighted.put(word, NAME_WEIGHT));
+            this.words = weighted.keySet().toArray(String[]::new);
+            this.weights = weighted.values().stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Index of the first word starting with the prefix, or -1
+        int firstWordStartingWith(String prefix) {
+            int index = Arrays.binarySearch(words, prefix);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < words.length && words[index].startsWith(prefix) ? index : -1;
+        }
+
+        // Sum over the terms of the best weighted match, an exact word counting twice; 0 if a term does not match
+        int score(List<String> terms) {
+            int score = 0;
+            for (String term : terms) {
+                int best = 0;
+                int index = firstWordStartingWith(term);
+                if (index < 0) {
+                    return 0;
+                }
+                for (; index < words.length && words[index].startsWith(term); index++) {
+                    best = Math.max(best, weights[index] * (words[index].length() == term.length() ? 2 : 1));
+                }
+                score += best;
+            }
+            return score;
+        }
+    }
+
+    private static class Scored {
+        private final EmployeeSummary employee;
+        private final int score;
+
+        Scored(EmployeeSummary employee, int score) {
+            this.employee = employee;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.Payroll;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+// Database search used when the in-memory EmployeeSearchIndex is disabled or not built yet. On PostgreSQL the
+// words of name, role and department form a weighted tsvector (GIN index idx_employees_search) matched with
+// prefix tsqueries and ranked by ts_rank; elsewhere every query word must start a word of one of the fields (LIKE).
+@Repository
+public class EmployeeSearchRepository {
+    // Must stay identical to the expression of idx_employees_search (db/vendor/postgresql/V4_1)
+    static final String SEARCH_VECTOR = "(setweight(to_tsvector('simple', coalesce(name, '')), 'A') || "
+            + "setweight(to_tsvector('simple', coalesce(role, '')), 'B') || "
+            + "setweight(to_tsvector('simple', coalesce(department, '')), 'C'))";
+    static final String SEARCH_POSTGRESQL = "SELECT id, name, role, salary, department, hiring_date, "
+            + "COUNT(*) OVER () AS total FROM employees, to_tsquery('simple', ?) query "
+            + "WHERE " + SEARCH_VECTOR + " @@ query "
+            + "ORDER BY ts_rank(" + SEARCH_VECTOR + ", query) DESC, LOWER(name), id LIMIT ? OFFSET ?";
+    static final String WORD_STARTS_WITH = "(LOWER(%1$s) LIKE ? OR LOWER(%1$s) LIKE ?)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgresql;
+
+    @PostConstruct
+    void detectDatabase() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        postgresql = "PostgreSQL".equals(product);
+    }
+
+    // The total comes from the same query, so a page past the last match reports 0
+    public EmployeeSearchResult search(List<String> terms, int offset, int limit) {
+        if (terms.isEmpty()) {
+            return new EmployeeSearchResult(List.of(), 0);
+        }
+        List<Object> args = new ArrayList<>();
+        String sql;
+        if (postgresql) {
+            // terms are letters and digits only (EmployeeSearchIndex.tokenize), so they need no tsquery escaping
+            args.add(String.join(" & ", terms.stream().map(term -> term + ":*").toList()));
+            sql = SEARCH_POSTGRESQL;
+        } else {
+            List<String> conditions = new ArrayList<>();
+            for (String term : terms) {
+                conditions.add("(" + String.format(WORD_STARTS_WITH, "name") + " OR " + String.format(WORD_STARTS_WITH, "role")
+                        + " OR " + String.format(WORD_STARTS_WITH, "department") + ")");
+                for (int field = 0; field < 3; field++) {
+                    args.add(term + "%");
+                    args.add("% " + term + "%");
+                }
+            }
+            sql = "SELECT id, name, role, salary, department, hiring_date, COUNT(*) OVER () AS total FROM employees WHERE "
+                    + String.join(" AND ", conditions) + " ORDER BY CASE WHEN LOWER(name) LIKE ? THEN 0 ELSE 1 END, "
+                    + "LOWER(name), id LIMIT ? OFFSET ?";
+            args.add(terms.get(0) + "%");
+        }
+        args.add(limit);
+        args.add(offset);
+        long[] total = {0};
+        List<EmployeeSummary> employees = jdbcTemplate.query(sql, (resultSet, rowNum) -> {
+            total[0] = resultSet.getLong("total");
+            Date hiringDate = resultSet.getDate("hiring_date");
+            double salary = resultSet.getDouble("salary");
+            boolean salaryMissing = resultSet.wasNull();
+            return new EmployeeSummary(resultSet.getLong("id"), resultSet.getString("name"), resultSet.getString("role"),
+                    salaryMissing ? null : salary, resultSet.getString("department"),
+                    hiringDate != null ? hiringDate.toLocalDate() : null);
+        }, args.toArray());
+        return new EmployeeSearchResult(employees, total[0]);
+    }
+}
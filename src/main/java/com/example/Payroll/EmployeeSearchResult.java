@@ -0,0 +1,22 @@
+package com.example.Payroll;
+
+import java.util.List;
+
+// One page of ranked search matches and the number of matches over all pages
+public class EmployeeSearchResult {
+    private final List<EmployeeSummary> employees;
+    private final long total;
+
+    public EmployeeSearchResult(List<EmployeeSummary> employees, long total) {
+        this.employees = employees;
+        this.total = total;
+    }
+
+    public List<EmployeeSummary> getEmployees() {
+        return employees;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
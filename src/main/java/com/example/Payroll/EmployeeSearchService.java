@@ -0,0 +1,34 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Type-ahead search over name, role and department: served from the in-memory index once it is built, from the
+// database otherwise (payroll.search.index.enabled=false, or during startup)
+@Service
+public class EmployeeSearchService {
+    static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private EmployeeSearchRepository employeeSearchRepository;
+
+    public EmployeeSearchResult search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidDataException("Search query must not be empty");
+        }
+        if (offset < 0) {
+            throw new InvalidDataException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (employeeSearchIndex.isReady()) {
+            return employeeSearchIndex.search(query, offset, limit);
+        }
+        return employeeSearchRepository.search(EmployeeSearchIndex.tokenize(query), offset, limit);
+    }
+}
@@ -1,35 +1,93 @@
 package com.example.Payroll;
 import com.example.Payroll.Exceptions.DepartmentNotFoundException;
 import com.example.Payroll.Exceptions.EmployeeNotFoundException;
+import com.example.Payroll.Exceptions.InvalidDataException;
+import com.example.Payroll.Exceptions.PreconditionFailedException;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Every public method is timed as payroll.service{class, method}; the histogram buckets give p50/p95/p99.
+// Reports run in read-only transactions, which are served by the read replica when one is configured.
 @Service
+@Timed(value = "payroll.service", histogram = true)
 public class EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger((EmployeeService.class));
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int DEFAULT_PAGE_SIZE = 100;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private PayrollAggregates payrollAggregates;
+
+    @Autowired
+    private ParallelPayrollCalculator parallelPayrollCalculator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
     public List<Employee> getAllEmployees() {
         logger.debug("Getting all employees");
         List<Employee>list =  employeeRepository.findAll();
+        if(writeBehindBuffer.hasPending()){
+            list.replaceAll(writeBehindBuffer::overlay);
+        }
         logger.debug("Retrieved {} employees", list.size());
         return list;
     }
 
+    public List<Employee> getEmployeesAfter(long afterId, int limit) {
+        if(limit<1 || limit>MAX_PAGE_SIZE){
+            throw new InvalidDataException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        logger.debug("Getting {} employees after id: {}", limit, afterId);
+        List<Employee> page = employeeRepository.findPageAfter(afterId, PageRequest.of(0, limit));
+        if(writeBehindBuffer.hasPending()){
+            page.replaceAll(writeBehindBuffer::overlay);
+        }
+        return page;
+    }
+
+    // The returned stream keeps a database connection open until it is closed
+    public Stream<Employee> streamAllEmployees() {
+        logger.debug("Streaming all employees");
+        Stream<Employee> employees = employeeJdbcRepository.streamAll();
+        return writeBehindBuffer.hasPending() ? employees.map(writeBehindBuffer::overlay) : employees;
+    }
+
+    // Cached entries are read from the primary, as the cache outlives the replica's lag
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id", sync = true)
     public Optional<Employee> getEmployeeById(Long id) {
         logger.debug("Getting employee by id: {}",id);
-        Optional<Employee> optionalEmployee = employeeRepository.findById(id);
+        Optional<Employee> optionalEmployee = ReplicaRoutingDataSource.onPrimary(() -> employeeRepository.findById(id));
         if(optionalEmployee.isPresent()){
             logger.debug("Found employee: {}",optionalEmployee.get());
-            return optionalEmployee;
+            return writeBehindBuffer.hasPending() ? optionalEmployee.map(writeBehindBuffer::overlay) : optionalEmployee;
         }else{
             logger.warn("Employee not found with id: {}",id);
             throw new EmployeeNotFoundException("Employee not found");
@@ -37,125 +95,252 @@ public class EmployeeService {
 //        return Optional.ofNullable(optionalEmployee.orElse(null));
     }
 
+    // A create that carries an existing id is merged by save(), so that id is evicted as well.
+    // Writes are transactional so the salary history row is committed with the change.
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#result.id")
+    @Transactional
     public Employee createEmployee(Employee employee) {
         logger.debug("Creating new employee");
+        Employee before = employee.getId() != null ? employeeRepository.findById(employee.getId()).map(this::copyOf).orElse(null) : null;
+        if (before != null && employee.getVersion() == null) {
+            employee.setVersion(before.getVersion());
+        }
+        Employee createdEmployee = employeeRepository.save(employee);
+        recordSalaryHistory(createdEmployee.getId());
         logger.debug("Employee created!!");
-        return employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(before, copyOf(createdEmployee)));
+        return createdEmployee;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
     public Employee updateEmployee(Long id, Employee updatedEmployee) {
+        return updateEmployee(id, updatedEmployee, null);
+    }
+
+    // expectedVersion comes from If-Match; a concurrent write between the read and the save is caught by @Version
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
+    public Employee updateEmployee(Long id, Employee updatedEmployee, Long expectedVersion) {
         logger.debug("Updating employee details with id: {}",id);
+        // before the read, so a flush of a pending change cannot bump the version between the read and the save
+        writeBehindBuffer.discard(id);
         Optional<Employee> optionalEmployee = employeeRepository.findById(id);
         if (optionalEmployee.isPresent()) {
             Employee existingEmployee = optionalEmployee.get();
+            if (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) {
+                throw new PreconditionFailedException("Employee " + id + " has been modified");
+            }
+            Employee before = copyOf(existingEmployee);
             existingEmployee.setName(updatedEmployee.getName());
             existingEmployee.setRole(updatedEmployee.getRole());
             existingEmployee.setSalary(updatedEmployee.getSalary());
             existingEmployee.setHiringDate(updatedEmployee.getHiringDate());
+            Employee savedEmployee = employeeRepository.save(existingEmployee);
+            recordSalaryHistory(id);
             logger.debug("Employee details updated");
-            return employeeRepository.save(existingEmployee);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(before, copyOf(savedEmployee)));
+            return savedEmployee;
         } else {
             logger.warn("No employee record found with id: {}",id);
             return null;
         }
     }
 
+    public boolean isWriteBehindEnabled() {
+        return writeBehindBuffer.isEnabled();
+    }
+
+    // Write-behind update: buffered and written with the next batch, visible to reads immediately.
+    // Returns null for an unknown id, as updateEmployee does, instead of buffering a change the flush would drop
+    public Employee enqueueUpdate(Long id, Employee updatedEmployee) {
+        logger.debug("Buffering update of employee with id: {}",id);
+        if (!writeBehindBuffer.isPending(id) && !employeeRepository.existsById(id)) {
+            logger.warn("No employee record found with id: {}",id);
+            return null;
+        }
+        return writeBehindBuffer.enqueue(id, updatedEmployee);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+    @Transactional
     public void deleteEmployee(Long id) {
-        logger.debug("Employee deleted with id: {}",id);
+        writeBehindBuffer.discard(id);
+        Optional<Employee> existingEmployee = employeeRepository.findById(id);
         employeeRepository.deleteById(id);
+        recordSalaryHistory(id);
+        logger.debug("Employee deleted with id: {}",id);
+        existingEmployee.ifPresent(employee -> eventPublisher.publishEvent(new EmployeeChangedEvent(copyOf(employee), null)));
+    }
+
+    // The history is derived from the employees table by SQL, so pending entity changes are flushed first
+    private void recordSalaryHistory(Long id) {
+        employeeRepository.flush();
+        salaryHistoryRepository.recordChanges(List.of(id));
+    }
+
+    // Detached copy for change events, so listeners never see later modifications of a managed entity
+    private Employee copyOf(Employee employee) {
+        Employee copy = new Employee(employee.getId(), employee.getName(), employee.getRole(), employee.getSalary(),
+                employee.getDepartment(), employee.getHiringDate());
+        copy.setVersion(employee.getVersion());
+        return copy;
+    }
+
+    public PayrollAggregates.ReconciliationReport reconcilePayrollAggregates() {
+        logger.debug("Reconciling payroll aggregates");
+        return payrollAggregates.reconcile();
     }
-    //base salary and bonus
+    //base salary and bonus, aggregated by the database
+    @Transactional(readOnly = true)
     public double calculatePayroll() {
-        List<Employee> employees = employeeRepository.findAll();
-        double totalPayroll = 0;
-        if(!employees.isEmpty()){
-            for (Employee employee : employees) {
-                if(employee!=null) {
-                    double baseSalary = getBaseSalaryForRole(employee.getRole());
-                    double bonus = calculateBonus(employee.getSalary(), baseSalary);
-                    totalPayroll += employee.getSalary() + bonus;
-                }else{
-                    throw new EmployeeNotFoundException("Null employee");
-                }
-            }
-        }else{
-            totalPayroll = 0;
+        logger.debug("Calculating total payroll");
+        if(payrollAggregates.isReady()){
+            return payrollAggregates.getTotalPayroll();
         }
-        return totalPayroll;
+        return employeeRepository.calculateTotalPayroll();
     }
 
-    private double getBaseSalaryForRole(String role) {
-        switch (role.toLowerCase()) {
-            case "manager":
-                return 80000;
-            case "developer":
-                return 60000;
-            case "intern":
-                return 30000;
-            default:
-                return 50000; // Default base salary
-        }
+    //month-end run: loads salaries and roles column-wise and sums exact cents with the given parallelism.
+    //Not @Transactional: the snapshot cursor runs its own read-only transaction, so the run holds a single connection
+    public double calculatePayroll(int parallelism) {
+        logger.debug("Calculating total payroll with parallelism: {}", parallelism);
+        PayrollSnapshot snapshot = employeeJdbcRepository.loadPayrollSnapshot();
+        return parallelPayrollCalculator.totalPayrollCents(snapshot, parallelism) / 100.0;
     }
 
-    private double calculateBonus(double salary, double baseSalary) {
-        double bonusPercentage;
-        if (salary > 1.2 * baseSalary) {
-            bonusPercentage = 0.1; // 10% bonus
-        } else {
-            bonusPercentage = 0.05; // 5% bonus
+    //payroll as it was on the given date, from the salary history
+    @Transactional(readOnly = true)
+    public double calculatePayroll(LocalDate asOf) {
+        logger.debug("Calculating total payroll as of {}", asOf);
+        return salaryHistoryRepository.calculatePayrollAsOf(asOf);
+    }
+
+    //in-memory equivalent of calculatePayroll() for an already loaded set of employees
+    public double calculatePayroll(Collection<Employee> employees) {
+        PayrollSnapshot snapshot = new PayrollSnapshot(employees.size());
+        for (Employee employee : employees) {
+            if(employee!=null) {
+                snapshot.add(employee.getRole(), employee.getSalary());
+            }else{
+                throw new EmployeeNotFoundException("Null employee");
+            }
         }
-        return salary * bonusPercentage;
+        return PayrollKernel.totalPayroll(snapshot);
     }
+
     public List<Employee> findByDepartmentName(String departmentName){
-        return employeeRepository.findByDepartmentName(departmentName);
+        List<Employee> employees = employeeRepository.findByDepartmentName(departmentName);
+        if(writeBehindBuffer.hasPending()){
+            employees.replaceAll(writeBehindBuffer::overlay);
+        }
+        return employees;
     }
+    @Transactional(readOnly = true)
     public double calculateAverageSalaryByDepartment(String departmentName) {
-        List<Employee> employeesInDepartment = employeeRepository.findByDepartmentName(departmentName);
-
-        if (employeesInDepartment.isEmpty()) {
-            throw new DepartmentNotFoundException("Department not found: " + departmentName);
+        if(payrollAggregates.isReady()){
+            return payrollAggregates.getAverageSalary(departmentName)
+                    .orElseThrow(() -> new DepartmentNotFoundException("Department not found: " + departmentName));
         }
-
-        return employeesInDepartment.stream()
-                .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+        return employeeRepository.findSalaryStatsByDepartment(departmentName)
+                .map(DepartmentSalaryStats::getAverageSalary)
+                .orElseThrow(() -> new DepartmentNotFoundException("Department not found: " + departmentName));
     }
+    @Transactional(readOnly = true)
     public Map<String, List<Employee>> getEmployeesGroupedByDepartment() {
         List<Employee> employees = employeeRepository.findAll();
         if(employees.isEmpty()){
             throw new EmployeeNotFoundException(" Employee not found");
         }
+        if(writeBehindBuffer.hasPending()){
+            employees.replaceAll(writeBehindBuffer::overlay);
+        }
         return employees.stream()
-                .collect(Collectors.groupingBy(Employee::getDepartment));
+                .collect(Collectors.groupingBy(EmployeeService::departmentKey));
     }
-    public List<Employee> getTopNHighestPaidEmployees(int n) {
-        List<Employee> employees = employeeRepository.findAll();
-        if(employees.isEmpty()){
+
+    // Lets callers that open the stream later, e.g. in a StreamingResponseBody, reject bad parameters up front
+    public void validateDepartmentPage(long offset, Integer limit) {
+        if(offset<0){
+            throw new InvalidDataException("Offset must not be negative");
+        }
+        if(limit!=null && (limit<1 || limit>MAX_PAGE_SIZE)){
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    // Rows arrive ordered by department so callers can write one group at a time. Must be closed by the caller.
+    public Stream<Employee> streamEmployeesGroupedByDepartment(long offset, Integer limit) {
+        validateDepartmentPage(offset, limit);
+        logger.debug("Streaming employees grouped by department, offset {} limit {}", offset, limit);
+        Stream<Employee> employees = employeeJdbcRepository.streamByDepartment(offset, limit);
+        return writeBehindBuffer.hasPending() ? employees.map(writeBehindBuffer::overlay) : employees;
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentSalaryStats> getDepartmentSummaries() {
+        return employeeRepository.findSalaryStatsForAllDepartments();
+    }
+
+    static String departmentKey(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment() : DepartmentSalaryStats.UNASSIGNED;
+    }
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getTopNHighestPaidEmployees(int n) {
+        if(n<0){
+            throw new InvalidDataException("Number of employees must not be negative");
+        }
+        if(n==0){
+            return Collections.emptyList();
+        }
+        // pending employees may replace stored rows of the page, so the page is read that much longer
+        List<Employee> pendingEmployees = writeBehindBuffer.pendingEmployees();
+        int pageSize = (int) Math.min((long) n + pendingEmployees.size(), Integer.MAX_VALUE);
+        List<EmployeeSummary> topEmployees = employeeRepository.findHighestPaid(PageRequest.of(0, pageSize));
+        if(!pendingEmployees.isEmpty()){
+            topEmployees = overlay(topEmployees, pendingEmployees, employee -> employee.getSalary() != null,
+                    Comparator.comparing(EmployeeSummary::getSalary, Comparator.reverseOrder()), n);
+        }
+        if(topEmployees.isEmpty()){
             throw new EmployeeNotFoundException(" Employee not found");
         }
-        return employees.stream()
-                .sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
-                .limit(n)
-                .collect(Collectors.toList());
+        return topEmployees;
     }
+    @Transactional(readOnly = true)
     public double calculatePayrollByJobTitle(String role) {
-        List<Employee> employees = employeeRepository.findAll();
-        if(employees.isEmpty()){
+        if(payrollAggregates.isReady()){
+            if(payrollAggregates.getEmployeeCount()==0){
+                throw new EmployeeNotFoundException("Employee not found");
+            }
+            return payrollAggregates.getSalarySumByRole(role);
+        }
+        if(!employeeRepository.existsByIdIsNotNull()){
             throw new EmployeeNotFoundException("Employee not found");
         }
-        return employees.stream()
-                .filter(e -> e.getRole().equalsIgnoreCase(role))
-                .mapToDouble(Employee::getSalary)
-                .sum();
+        return employeeRepository.sumSalaryByRole(role);
+    }
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findEmployeesHiredInLastNMonths(int months) {
+        LocalDate cutoffDate = LocalDate.now().minusMonths(months);
+        List<Employee> pendingEmployees = writeBehindBuffer.pendingEmployees();
+        List<EmployeeSummary> hired = employeeRepository.findHiredAfter(cutoffDate);
+        if(!pendingEmployees.isEmpty()){
+            hired = overlay(hired, pendingEmployees,
+                    employee -> employee.getHiringDate() != null && employee.getHiringDate().isAfter(cutoffDate),
+                    Comparator.comparing(EmployeeSummary::getHiringDate, Comparator.reverseOrder()), Integer.MAX_VALUE);
+        }
+        return hired;
     }
-    public List<Employee> findEmployeesHiredInLastNMonths(int months) {
-        List<Employee> employees = employeeRepository.findAll();
-        LocalDate currentDate = LocalDate.now();
-        LocalDate cutoffDate = currentDate.minusMonths(months);
 
-        return employees.stream()
-                .filter(e -> e.getHiringDate().isAfter(cutoffDate))
-                .collect(Collectors.toList());
+    // A pending write-behind change can move an employee into or out of a salary or hiring date report, so the
+    // pending employees replace their stored rows before the report is filtered, ordered and cut again
+    private static List<EmployeeSummary> overlay(List<EmployeeSummary> stored, List<Employee> pendingEmployees,
+                                                 Predicate<Employee> included, Comparator<EmployeeSummary> order, int limit) {
+        Set<Long> pendingIds = pendingEmployees.stream().map(Employee::getId).collect(Collectors.toSet());
+        Stream<EmployeeSummary> storedRows = stored.stream().filter(summary -> !pendingIds.contains(summary.getId()));
+        Stream<EmployeeSummary> pendingRows = pendingEmployees.stream().filter(included)
+                .map(employee -> new EmployeeSummary(employee.getId(), employee.getName(), employee.getRole(),
+                        employee.getSalary(), employee.getDepartment(), employee.getHiringDate()));
+        return Stream.concat(storedRows, pendingRows).sorted(order).limit(limit).toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.Payroll;
+
+import java.time.LocalDate;
+
+// Read-only projection of an employee row, used by reporting queries instead of a managed Employee
+public class EmployeeSummary {
+    private final Long id;
+    private final String name;
+    private final String role;
+    private final Double salary;
+    private final String department;
+    private final LocalDate hiringDate;
+
+    public EmployeeSummary(Long id, String name, String role, Double salary, String department, LocalDate hiringDate) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.salary = salary;
+        this.department = department;
+        this.hiringDate = hiringDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public LocalDate getHiringDate() {
+        return hiringDate;
+    }
+}
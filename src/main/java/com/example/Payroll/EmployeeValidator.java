@@ -0,0 +1,33 @@
+package com.example.Payroll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Validation rules shared by single and bulk employee creation
+public final class EmployeeValidator {
+    private EmployeeValidator() {
+    }
+
+    // Returns a message for every missing required field, or an empty list when the employee is valid
+    public static List<String> validate(Employee employee) {
+        List<String> errors = new ArrayList<>();
+        if (employee == null) {
+            errors.add("employee is required");
+            return errors;
+        }
+        if (employee.getName() == null) {
+            errors.add("name is required");
+        }
+        if (employee.getRole() == null) {
+            errors.add("role is required");
+        }
+        if (employee.getSalary() == null) {
+            errors.add("salary is required");
+        }
+        return errors;
+    }
+
+    public static boolean isValid(Employee employee) {
+        return validate(employee).isEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Payroll;
+
+// Published after a set-based change (import, bulk update or delete) that cannot be described row by row
+public class EmployeesBulkChangedEvent {
+    private final String operation;
+    private final long affectedRows;
+
+    public EmployeesBulkChangedEvent(String operation, long affectedRows) {
+        this.operation = operation;
+        this.affectedRows = affectedRows;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getAffectedRows() {
+        return affectedRows;
+    }
+}
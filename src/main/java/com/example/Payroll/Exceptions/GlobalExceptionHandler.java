@@ -1,6 +1,8 @@
 package com.example.Payroll.Exceptions;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
@@ -32,6 +34,32 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PayrollRunNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handlePayrollRunNotFound(PayrollRunNotFoundException ex) {
+        logger.error("Payroll run not found: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+    @ExceptionHandler(TenantNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleTenantNotFound(TenantNotFoundException ex) {
+        logger.warn("Tenant not found: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejectedExecution(RejectedExecutionException ex) {
+        logger.warn("Background work rejected: {}", ex.getMessage());
+        return buildErrorResponse("Too many payroll runs in progress, retry later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        return buildErrorResponse(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        return buildErrorResponse("The record was modified concurrently, reload and retry", HttpStatus.CONFLICT);
+    }
+
     private ResponseEntity<Map<String, Object>> buildErrorResponse(String message, HttpStatus status) {
         Map<String, Object> errorDetails = new HashMap<>();
         errorDetails.put("timestamp", LocalDateTime.now());
@@ -0,0 +1,7 @@
+package com.example.Payroll.Exceptions;
+
+public class PayrollRunNotFoundException extends RuntimeException{
+    public PayrollRunNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Payroll.Exceptions;
+
+public class PreconditionFailedException extends RuntimeException{
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Payroll.Exceptions;
+
+public class TenantNotFoundException extends RuntimeException {
+    public TenantNotFoundException(String message) {
+        super(message);
+    }
+}
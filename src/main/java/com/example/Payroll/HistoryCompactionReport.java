@@ -0,0 +1,34 @@
+package com.example.Payroll;
+
+import java.time.LocalDate;
+
+// Outcome of compacting the salary history of a closed period (both dates inclusive)
+public class HistoryCompactionReport {
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final int removedRows;
+    private final int adjustedRows;
+
+    public HistoryCompactionReport(LocalDate periodStart, LocalDate periodEnd, int removedRows, int adjustedRows) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.removedRows = removedRows;
+        this.adjustedRows = adjustedRows;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public int getRemovedRows() {
+        return removedRows;
+    }
+
+    public int getAdjustedRows() {
+        return adjustedRows;
+    }
+}
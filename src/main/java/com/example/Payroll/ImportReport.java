@@ -0,0 +1,61 @@
+package com.example.Payroll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk employee import, with one entry per rejected row
+public class ImportReport {
+    private long received;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    void rowReceived() {
+        received++;
+    }
+
+    void rowsImported(int count) {
+        imported += count;
+    }
+
+    void rowFailed(long row, String message, int maxReportedErrors) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.Payroll;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Already-encoded JSON bodies of read-heavy list endpoints, keyed by endpoint and parameters, plus a gzip copy for
+// clients that accept it. Hits skip both Jackson and compression and are written straight to the servlet output
+// stream. Entries belong to the DataVersion they were built under, so any write (including a buffered
+// write-behind update) makes them unreachable; committed writes also drop them to free the memory. Every tenant
+// has its own cache of maximum-size, so a tenant with large lists cannot evict the bodies of the others.
+@Component
+public class JsonResponseCache {
+    private static final String GZIP = "gzip";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Value("${payroll.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payroll.response-cache.maximum-size:64MB}")
+    private DataSize maximumSize;
+
+    @Value("${payroll.response-cache.gzip-min-size:2KB}")
+    private DataSize gzipMinSize;
+
+    private final Map<String, Cache<String, Body>> bodiesByTenant = new ConcurrentHashMap<>();
+
+    // Writes the cached body for the key, calling the loader only when there is none for the current data version
+    public void write(String key, Supplier<?> loader, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // the version is read before loading, so a body built while a write commits is already stale when stored;
+        // cached bodies are loaded from the primary, as a lagging replica could miss writes the version includes
+        Body body = enabled
+                ? bodies().get(dataVersion.getETag() + " " + key, versionedKey -> encode(ReplicaRoutingDataSource.onPrimary(loader)))
+                : encode(loader.get());
+        byte[] bytes = body.json;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (body.gzip != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                bytes = body.gzip;
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            }
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        bodies().invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+        bodies().invalidateAll();
+    }
+
+    void clear() {
+        bodiesByTenant.values().forEach(Cache::invalidateAll);
+    }
+
+    private Cache<String, Body> bodies() {
+        return bodiesByTenant.computeIfAbsent(TenantContext.getTenantId(), tenantId -> Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, Body body) -> body.weight())
+                .build());
+    }
+
+    private Body encode(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Body(json, json.length >= gzipMinSize.toBytes() ? gzip(json) : null);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                    return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static class Body {
+        private final byte[] json;
+        private final byte[] gzip;
+
+        Body(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Splits a PayrollSnapshot into chunks and sums them on a ForkJoinPool with the requested parallelism.
+// Totals are accumulated in whole cents, so every parallelism level returns exactly the same result.
+@Component
+public class ParallelPayrollCalculator {
+    private final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    @Value("${payroll.parallel.chunk-size:65536}")
+    private int chunkSize;
+
+    @Value("${payroll.parallel.max-parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int maxParallelism;
+
+    public long totalPayrollCents(PayrollSnapshot snapshot, int parallelism) {
+        if (parallelism < 1 || parallelism > maxParallelism) {
+            throw new InvalidDataException("Parallelism must be between 1 and " + maxParallelism);
+        }
+        if (parallelism == 1 || snapshot.size() <= chunkSize) {
+            return PayrollKernel.totalPayrollCents(snapshot, 0, snapshot.size());
+        }
+        ForkJoinPool pool = pools.computeIfAbsent(parallelism, ForkJoinPool::new);
+        return pool.invoke(new ChunkTask(snapshot, 0, snapshot.size(), chunkSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.values().forEach(ForkJoinPool::shutdown);
+    }
+
+    private static class ChunkTask extends RecursiveTask<Long> {
+        private final PayrollSnapshot snapshot;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ChunkTask(PayrollSnapshot snapshot, int from, int to, int chunkSize) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunkSize) {
+                return PayrollKernel.totalPayrollCents(snapshot, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(snapshot, from, middle, chunkSize);
+            left.fork();
+            long right = new ChunkTask(snapshot, middle, to, chunkSize).compute();
+            return left.join() + right;
+        }
+    }
+}
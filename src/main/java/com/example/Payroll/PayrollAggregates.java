@@ -0,0 +1,347 @@
+package com.example.Payroll;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory payroll totals per department and per role, seeded from the database once and then kept up to date
+// from EmployeeChangedEvents so the payroll and average-salary reads are O(1). Writers only touch striped
+// LongAdder/DoubleAdder cells, so concurrent updates do not contend. The totals are eventually consistent:
+// reconcile() recomputes them from the database, reports any drift and replaces them. Changes that arrive while
+// the totals are reloaded are recorded, and those the reload did not see yet are replayed onto the reloaded totals
+// before they replace the old ones, so none is lost with the old totals or counted twice. Every tenant has its own
+// totals; the methods work on those of the current tenant.
+@Component
+public class PayrollAggregates {
+    private static final Logger logger = LoggerFactory.getLogger(PayrollAggregates.class);
+    private static final double DRIFT_TOLERANCE = 0.01;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // The totals and the versions the replay is checked against must come from one database snapshot
+    private TransactionTemplate snapshotTransactionTemplate;
+
+    @Value("${payroll.aggregates.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Changes of each tenant whose totals are being reloaded, in arrival order
+    private final Map<String, Queue<EmployeeChangedEvent>> replayLogs = new ConcurrentHashMap<>();
+    // Shared by the changes, exclusive while a reload replays the log and swaps the totals
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock reloadLock = new ReentrantLock();
+
+    @PostConstruct
+    void initSnapshotTransactions() {
+        snapshotTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(() -> {
+                Snapshot loaded = reload((previous, fresh) -> fresh);
+                logger.info("Payroll aggregates of tenant {} seeded with {} employees",
+                        TenantContext.getTenantId(), loaded.overall.employees.sum());
+            });
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot() != null;
+    }
+
+    public long getEmployeeCount() {
+        return snapshot().overall.employees.sum();
+    }
+
+    public double getTotalPayroll() {
+        return snapshot().overall.payrollSum.sum();
+    }
+
+    public OptionalDouble getAverageSalary(String department) {
+        Totals totals = snapshot().byDepartment.get(department);
+        if (totals == null || totals.employees.sum() == 0) {
+            return OptionalDouble.empty();
+        }
+        long salaried = totals.salaried.sum();
+        return OptionalDouble.of(salaried == 0 ? 0.0 : totals.salarySum.sum() / salaried);
+    }
+
+    public double getSalarySumByRole(String role) {
+        Totals totals = snapshot().byRole.get(roleKey(role));
+        return totals == null ? 0.0 : totals.salarySum.sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            Snapshot current = snapshot();
+            if (current != null) {
+                current.apply(event);
+            }
+            Queue<EmployeeChangedEvent> replayLog = replayLogs.get(TenantContext.getTenantId());
+            if (replayLog != null) {
+                replayLog.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesBulkChanged(EmployeesBulkChangedEvent event) {
+        if (snapshot() != null) {
+            logger.debug("Reloading payroll aggregates after {}", event.getOperation());
+            reload((previous, fresh) -> fresh);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payroll.aggregates.reconcile-interval:PT15M}",
+            initialDelayString = "${payroll.aggregates.reconcile-interval:PT15M}")
+    public void scheduledReconcile() {
+        tenantRegistry.forEachTenant(this::reconcile);
+    }
+
+    // Recomputes every total of the current tenant from the database, replaces the in-memory totals and reports
+    // the groups that drifted
+    public ReconciliationReport reconcile() {
+        if (!enabled) {
+            return new ReconciliationReport(List.of(), List.of());
+        }
+        ReconciliationReport report = reload((current, fresh) -> current == null
+                ? new ReconciliationReport(List.of(), List.of())
+                : new ReconciliationReport(drifted(current.byDepartment, fresh.byDepartment),
+                        drifted(current.byRole, fresh.byRole)));
+        if (report.isDriftDetected()) {
+            logger.warn("Payroll aggregates of tenant {} drifted from the database: departments {}, roles {}",
+                    TenantContext.getTenantId(), report.getDepartments(), report.getRoles());
+        }
+        return report;
+    }
+
+    // Loads the totals of the current tenant while recording the changes that arrive meanwhile, and replays the
+    // recorded changes the load did not see onto it before it replaces the old totals. Events are published after
+    // commit, so a recorded change may already be part of the load. onSwap gets the old (or null) and the new
+    // totals while no change can be applied to either.
+    // Read in a read-write transaction, which stays on the primary even with a read replica: the totals are kept
+    // up to date from the writes of this instance and must not start from a lagging copy
+    private <T> T reload(BiFunction<Snapshot, Snapshot, T> onSwap) {
+        String tenantId = TenantContext.getTenantId();
+        reloadLock.lock();
+        try {
+            Queue<EmployeeChangedEvent> replayLog = new ConcurrentLinkedQueue<>();
+            replayLogs.put(tenantId, replayLog);
+            try {
+                return snapshotTransactionTemplate.execute(status -> {
+                    Snapshot fresh = loadSnapshot();
+                    swapLock.writeLock().lock();
+                    try {
+                        replay(replayLog, fresh);
+                        return onSwap.apply(snapshots.put(tenantId, fresh), fresh);
+                    } finally {
+                        swapLock.writeLock().unlock();
+                    }
+                });
+            } finally {
+                replayLogs.remove(tenantId);
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Each change is replayed only if it starts from the state of its employee in the load's snapshot (then in the
+    // replay): its before version, or no row for a creation. A change the load already saw starts from an older
+    // state and is skipped.
+    private void replay(Queue<EmployeeChangedEvent> replayLog, Snapshot fresh) {
+        if (replayLog.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (EmployeeChangedEvent event : replayLog) {
+            ids.add(changedId(event));
+        }
+        Map<Long, Long> versions = new HashMap<>();
+        for (Employee employee : employeeJdbcRepository.findAllById(ids)) {
+            versions.put(employee.getId(), employee.getVersion());
+        }
+        for (EmployeeChangedEvent event : replayLog) {
+            Long id = changedId(event);
+            Long from = event.getBefore() != null ? event.getBefore().getVersion() : null;
+            if (Objects.equals(versions.get(id), from)) {
+                fresh.apply(event);
+                if (event.getAfter() != null) {
+                    versions.put(id, event.getAfter().getVersion());
+                } else {
+                    versions.remove(id);
+                }
+            }
+        }
+    }
+
+    private static Long changedId(EmployeeChangedEvent event) {
+        return event.getAfter() != null ? event.getAfter().getId() : event.getBefore().getId();
+    }
+
+    private Snapshot snapshot() {
+        return snapshots.get(TenantContext.getTenantId());
+    }
+
+    private Snapshot loadSnapshot() {
+        Snapshot loaded = new Snapshot();
+        for (PayrollGroupTotals group : employeeRepository.calculatePayrollTotalsByDepartmentAndRole()) {
+            loaded.overall.add(group);
+            if (group.getDepartment() != null) {
+                loaded.byDepartment.computeIfAbsent(group.getDepartment(), key -> new Totals()).add(group);
+            }
+            loaded.byRole.computeIfAbsent(roleKey(group.getRole()), key -> new Totals()).add(group);
+        }
+        return loaded;
+    }
+
+    private static List<String> drifted(Map<String, Totals> current, Map<String, Totals> fresh) {
+        Set<String> keys = new HashSet<>(current.keySet());
+        keys.addAll(fresh.keySet());
+        List<String> drifted = new ArrayList<>();
+        for (String key : keys) {
+            if (!Totals.matches(current.get(key), fresh.get(key))) {
+                drifted.add(key);
+            }
+        }
+        return drifted;
+    }
+
+    private static String roleKey(String role) {
+        return role == null ? "" : role.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Snapshot {
+        private final Map<String, Totals> byDepartment = new ConcurrentHashMap<>();
+        private final Map<String, Totals> byRole = new ConcurrentHashMap<>();
+        private final Totals overall = new Totals();
+
+        void apply(EmployeeChangedEvent event) {
+            if (event.getBefore() != null) {
+                apply(event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                apply(event.getAfter(), 1);
+            }
+        }
+
+        void apply(Employee employee, int sign) {
+            overall.add(employee, sign);
+            if (employee.getDepartment() != null) {
+                byDepartment.computeIfAbsent(employee.getDepartment(), key -> new Totals()).add(employee, sign);
+            }
+            byRole.computeIfAbsent(roleKey(employee.getRole()), key -> new Totals()).add(employee, sign);
+        }
+    }
+
+    private static class Totals {
+        private final LongAdder employees = new LongAdder();
+        private final LongAdder salaried = new LongAdder();
+        private final DoubleAdder salarySum = new DoubleAdder();
+        private final DoubleAdder payrollSum = new DoubleAdder();
+
+        void add(PayrollGroupTotals group) {
+            employees.add(group.getEmployeeCount());
+            salaried.add(group.getSalariedCount());
+            salarySum.add(group.getSalarySum());
+            payrollSum.add(group.getPayrollSum());
+        }
+
+        void add(Employee employee, int sign) {
+            employees.add(sign);
+            if (employee.getSalary() != null) {
+                salaried.add(sign);
+                salarySum.add(sign * employee.getSalary());
+                payrollSum.add(sign * PayrollRules.calculatePayroll(roleKey(employee.getRole()), employee.getSalary()));
+            }
+        }
+
+        static boolean matches(Totals current, Totals fresh) {
+            long currentCount = current == null ? 0 : current.employees.sum();
+            long freshCount = fresh == null ? 0 : fresh.employees.sum();
+            if (currentCount != freshCount) {
+                return false;
+            }
+            double currentSalary = current == null ? 0.0 : current.salarySum.sum();
+            double freshSalary = fresh == null ? 0.0 : fresh.salarySum.sum();
+            double currentPayroll = current == null ? 0.0 : current.payrollSum.sum();
+            double freshPayroll = fresh == null ? 0.0 : fresh.payrollSum.sum();
+            return Math.abs(currentSalary - freshSalary) <= DRIFT_TOLERANCE
+                    && Math.abs(currentPayroll - freshPayroll) <= DRIFT_TOLERANCE;
+        }
+    }
+
+    public static class ReconciliationReport {
+        private final List<String> departments;
+        private final List<String> roles;
+        private final LocalDateTime reconciledAt = LocalDateTime.now();
+
+        public ReconciliationReport(List<String> departments, List<String> roles) {
+            this.departments = departments;
+            this.roles = roles;
+        }
+
+        public boolean isDriftDetected() {
+            return !departments.isEmpty() || !roles.isEmpty();
+        }
+
+        public List<String> getDepartments() {
+            return departments;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public LocalDateTime getReconciledAt() {
+            return reconciledAt;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Payroll;
+
+// Employee count, salary sum and bonus-adjusted payroll of one (department, role) group, computed by the database
+public class PayrollGroupTotals {
+    private final String department;
+    private final String role;
+    private final long employeeCount;
+    private final long salariedCount;
+    private final double salarySum;
+    private final double payrollSum;
+
+    public PayrollGroupTotals(String department, String role, long employeeCount, long salariedCount,
+                              Double salarySum, Double payrollSum) {
+        this.department = department;
+        this.role = role;
+        this.employeeCount = employeeCount;
+        this.salariedCount = salariedCount;
+        this.salarySum = salarySum != null ? salarySum : 0.0;
+        this.payrollSum = payrollSum != null ? payrollSum : 0.0;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public long getSalariedCount() {
+        return salariedCount;
+    }
+
+    public double getSalarySum() {
+        return salarySum;
+    }
+
+    public double getPayrollSum() {
+        return payrollSum;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Payroll;
+
+// Applies PayrollRules to a PayrollSnapshot in a single pass over primitive arrays. Base salaries and bonus
+// thresholds are looked up by role code and the bonus rate is a branch-free select, so the loop allocates nothing
+// and its body is a candidate for C2 auto-vectorization. Per employee the arithmetic is identical to
+// PayrollRules#calculatePayroll, so results match the per-entity loop exactly.
+public final class PayrollKernel {
+    private static final double[] BASE_SALARIES = new double[4];
+    private static final double[] BONUS_THRESHOLDS = new double[4];
+
+    static {
+        BASE_SALARIES[PayrollSnapshot.ROLE_OTHER] = PayrollRules.getBaseSalaryForRole("");
+        BASE_SALARIES[PayrollSnapshot.ROLE_MANAGER] = PayrollRules.getBaseSalaryForRole("manager");
+        BASE_SALARIES[PayrollSnapshot.ROLE_DEVELOPER] = PayrollRules.getBaseSalaryForRole("developer");
+        BASE_SALARIES[PayrollSnapshot.ROLE_INTERN] = PayrollRules.getBaseSalaryForRole("intern");
+        for (int code = 0; code < BASE_SALARIES.length; code++) {
+            BONUS_THRESHOLDS[code] = 1.2 * BASE_SALARIES[code];
+        }
+    }
+
+    private PayrollKernel() {
+    }
+
+    public static double totalPayroll(PayrollSnapshot snapshot) {
+        return totalPayroll(snapshot, 0, snapshot.size());
+    }
+
+    // Sum of salary plus bonus for the employees in [from, to)
+    public static double totalPayroll(PayrollSnapshot snapshot, int from, int to) {
+        double[] salaries = snapshot.salaries();
+        int[] roleCodes = snapshot.roleCodes();
+        double total = 0;
+        for (int i = from; i < to; i++) {
+            double salary = salaries[i];
+            double bonusPercentage = salary > BONUS_THRESHOLDS[roleCodes[i]] ? 0.1 : 0.05;
+            total += salary + salary * bonusPercentage;
+        }
+        return total;
+    }
+
+    // Exact variant of totalPayroll: each employee's payroll is rounded to whole cents and summed as a long.
+    // Integer addition is associative, so any split of the range into chunks produces the same total.
+    public static long totalPayrollCents(PayrollSnapshot snapshot, int from, int to) {
+        double[] salaries = snapshot.salaries();
+        int[] roleCodes = snapshot.roleCodes();
+        long totalCents = 0;
+        for (int i = from; i < to; i++) {
+            double salary = salaries[i];
+            double bonusPercentage = salary > BONUS_THRESHOLDS[roleCodes[i]] ? 0.1 : 0.05;
+            totalCents += Math.round((salary + salary * bonusPercentage) * 100);
+        }
+        return totalCents;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.Payroll;
+
+// Base salary and bonus rules shared by every payroll calculation.
+// CustomEmployeeRepository#PAYROLL_EXPRESSION mirrors these rules in SQL and must be kept in sync.
+public final class PayrollRules {
+    private PayrollRules() {
+    }
+
+    public static double getBaseSalaryForRole(String role) {
+        switch (role.toLowerCase()) {
+            case "manager":
+                return 80000;
+            case "developer":
+                return 60000;
+            case "intern":
+                return 30000;
+            default:
+                return 50000; // Default base salary
+        }
+    }
+
+    public static double calculateBonus(double salary, double baseSalary) {
+        double bonusPercentage;
+        if (salary > 1.2 * baseSalary) {
+            bonusPercentage = 0.1; // 10% bonus
+        } else {
+            bonusPercentage = 0.05; // 5% bonus
+        }
+        return salary * bonusPercentage;
+    }
+
+    // Salary plus bonus for one employee
+    public static double calculatePayroll(String role, double salary) {
+        return salary + calculateBonus(salary, getBaseSalaryForRole(role));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.Payroll;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One asynchronous payroll run: its status, progress and running totals. Updated once per committed chunk.
+@Entity
+@Table(name = "payroll_runs")
+public class PayrollRun {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private PayrollRunStatus status;
+    private long totalEmployees;
+    private long processedEmployees;
+    private long lastEmployeeId;
+    private double totalSalary;
+    private double totalBonus;
+    private double totalPayroll;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public PayrollRun() {
+    }
+
+    public PayrollRun(long totalEmployees) {
+        this.status = PayrollRunStatus.QUEUED;
+        this.totalEmployees = totalEmployees;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    void started() {
+        status = PayrollRunStatus.RUNNING;
+        error = null;
+        if (startedAt == null) {
+            startedAt = LocalDateTime.now();
+        }
+    }
+
+    void chunkProcessed(int employees, long lastEmployeeId, double salary, double bonus) {
+        this.processedEmployees += employees;
+        this.lastEmployeeId = lastEmployeeId;
+        this.totalSalary += salary;
+        this.totalBonus += bonus;
+        this.totalPayroll += salary + bonus;
+    }
+
+    void completed() {
+        status = PayrollRunStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    void failed(String message) {
+        status = PayrollRunStatus.FAILED;
+        finishedAt = LocalDateTime.now();
+        error = message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public PayrollRunStatus getStatus() {
+        return status;
+    }
+
+    public long getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public long getProcessedEmployees() {
+        return processedEmployees;
+    }
+
+    public long getLastEmployeeId() {
+        return lastEmployeeId;
+    }
+
+    // Percentage of the employees counted at start; employees hired during the run can push it past 100
+    public double getProgress() {
+        if (status == PayrollRunStatus.COMPLETED || totalEmployees == 0) {
+            return status == PayrollRunStatus.COMPLETED ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, processedEmployees * 100.0 / totalEmployees);
+    }
+
+    public double getTotalSalary() {
+        return totalSalary;
+    }
+
+    public double getTotalBonus() {
+        return totalBonus;
+    }
+
+    public double getTotalPayroll() {
+        return totalPayroll;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
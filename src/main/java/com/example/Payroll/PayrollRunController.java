@@ -0,0 +1,45 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll-runs")
+public class PayrollRunController {
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @PostMapping
+    public ResponseEntity<PayrollRun> startRun() {
+        PayrollRun run = payrollRunService.startRun();
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(run.getId()).toUri();
+        return ResponseEntity.accepted().location(location).body(run);
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<PayrollRun> resumeRun(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(payrollRunService.resumeRun(id));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PayrollRun> getRun(@PathVariable Long id) {
+        return ResponseEntity.ok(payrollRunService.getRun(id));
+    }
+
+    @GetMapping("/{id}/payslips")
+    public ResponseEntity<List<PayslipLine>> getPayslips(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "0") long after,
+                                                         @RequestParam(defaultValue = "100") int limit) {
+        List<PayslipLine> payslips = payrollRunService.getPayslips(id, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(payslips.size()==limit){
+            response.header(EmployeeController.NEXT_CURSOR_HEADER, String.valueOf(payslips.get(payslips.size()-1).getEmployeeId()));
+        }
+        return response.body(payslips);
+    }
+}
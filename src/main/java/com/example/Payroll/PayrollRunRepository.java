@@ -0,0 +1,23 @@
+package com.example.Payroll;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    List<PayrollRun> findByStatusInOrderById(Collection<PayrollRunStatus> statuses);
+
+    // Moves the run to another status only if it still has the expected one; returns the number of affected rows,
+    // so of concurrent callers exactly one wins
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE PayrollRun r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") PayrollRunStatus from, @Param("to") PayrollRunStatus to);
+}
@@ -0,0 +1,189 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import com.example.Payroll.Exceptions.PayrollRunNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs payroll in the background: each chunk of employees is read by keyset, turned into payslip lines and
+// committed together with the run's progress, so a run interrupted by a crash continues after its last chunk.
+// A run executes for the tenant that started it.
+@Service
+public class PayrollRunService {
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRunService.class);
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayslipJdbcRepository payslipJdbcRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Value("${payroll.runs.threads:2}")
+    private int threads;
+
+    @Value("${payroll.runs.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${payroll.runs.chunk-size:1000}")
+    private int chunkSize;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void startExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "payroll-run-" + threadNumber.incrementAndGet()));
+    }
+
+    @PreDestroy
+    public void stopExecutor() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    public PayrollRun startRun() {
+        PayrollRun run = payrollRunRepository.save(new PayrollRun(employeeRepository.count()));
+        logger.info("Payroll run {} queued for {} employees", run.getId(), run.getTotalEmployees());
+        submit(run.getId());
+        return run;
+    }
+
+    // Continues a failed run from its last committed chunk. The run is requeued with a conditional update, so of
+    // concurrent resumes only one submits it.
+    public PayrollRun resumeRun(Long runId) {
+        if (payrollRunRepository.updateStatus(runId, PayrollRunStatus.FAILED, PayrollRunStatus.QUEUED) != 1) {
+            PayrollRun run = getRun(runId);
+            throw new InvalidDataException("Only failed payroll runs can be resumed, run " + runId + " is " + run.getStatus());
+        }
+        PayrollRun run = getRun(runId);
+        submit(runId);
+        return run;
+    }
+
+    public PayrollRun getRun(Long runId) {
+        return payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new PayrollRunNotFoundException("Payroll run not found: " + runId));
+    }
+
+    public List<PayslipLine> getPayslips(Long runId, long afterEmployeeId, int limit) {
+        if (limit < 1 || limit > EmployeeService.MAX_PAGE_SIZE) {
+            throw new InvalidDataException("Limit must be between 1 and " + EmployeeService.MAX_PAGE_SIZE);
+        }
+        getRun(runId);
+        return payslipJdbcRepository.findPage(runId, afterEmployeeId, limit);
+    }
+
+    // Runs left queued or running by a previous process are picked up again, for every tenant
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        tenantRegistry.forEachTenant(this::resumeInterruptedRunsOfTenant);
+    }
+
+    private void resumeInterruptedRunsOfTenant() {
+        for (PayrollRun run : payrollRunRepository.findByStatusInOrderById(
+                EnumSet.of(PayrollRunStatus.QUEUED, PayrollRunStatus.RUNNING))) {
+            logger.info("Resuming payroll run {} after employee {}", run.getId(), run.getLastEmployeeId());
+            submit(run.getId());
+        }
+    }
+
+    private void submit(Long runId) {
+        try {
+            executor.execute(TenantContext.wrap(() -> execute(runId)));
+        } catch (RejectedExecutionException ex) {
+            markFailed(runId, "Payroll run queue is full");
+            throw ex;
+        }
+    }
+
+    void execute(Long runId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                PayrollRun run = getRun(runId);
+                run.started();
+                payrollRunRepository.save(run);
+            });
+            boolean more = true;
+            while (more && !Thread.currentThread().isInterrupted()) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(runId)));
+            }
+            if (!more) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    PayrollRun run = getRun(runId);
+                    run.completed();
+                    payrollRunRepository.save(run);
+                });
+                logger.info("Payroll run {} completed", runId);
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Payroll run {} failed", runId, ex);
+            markFailed(runId, ex.getMessage());
+        }
+    }
+
+    // One transaction: read the next chunk after the cursor, write its payslip lines, advance the cursor
+    private boolean processChunk(Long runId) {
+        PayrollRun run = getRun(runId);
+        List<Employee> employees = employeeRepository.findPageAfter(run.getLastEmployeeId(), PageRequest.of(0, chunkSize));
+        if (employees.isEmpty()) {
+            return false;
+        }
+        List<PayslipLine> lines = new ArrayList<>(employees.size());
+        double salaryTotal = 0;
+        double bonusTotal = 0;
+        for (Employee employee : employees) {
+            if (employee.getSalary() == null) {
+                continue;
+            }
+            String role = employee.getRole() != null ? employee.getRole() : "";
+            double salary = employee.getSalary();
+            double baseSalary = PayrollRules.getBaseSalaryForRole(role);
+            double bonus = PayrollRules.calculateBonus(salary, baseSalary);
+            lines.add(new PayslipLine(runId, employee.getId(), employee.getName(), employee.getRole(), salary, baseSalary, bonus));
+            salaryTotal += salary;
+            bonusTotal += bonus;
+        }
+        if (!lines.isEmpty()) {
+            payslipJdbcRepository.insertBatch(lines);
+        }
+        run.chunkProcessed(employees.size(), employees.get(employees.size() - 1).getId(), salaryTotal, bonusTotal);
+        payrollRunRepository.save(run);
+        return employees.size() == chunkSize;
+    }
+
+    private void markFailed(Long runId, String message) {
+        transactionTemplate.executeWithoutResult(status -> payrollRunRepository.findById(runId).ifPresent(run -> {
+            run.failed(message);
+            payrollRunRepository.save(run);
+        }));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Payroll;
+
+public enum PayrollRunStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
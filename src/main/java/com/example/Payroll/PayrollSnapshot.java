@@ -0,0 +1,76 @@
+package com.example.Payroll;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Columnar copy of the payroll inputs: one double salary and one int role code per employee, in parallel arrays.
+// Role names are interned to codes once per distinct string, so the payroll kernel never touches a String or a
+// boxed Double.
+public class PayrollSnapshot {
+    public static final int ROLE_OTHER = 0;
+    public static final int ROLE_MANAGER = 1;
+    public static final int ROLE_DEVELOPER = 2;
+    public static final int ROLE_INTERN = 3;
+
+    private double[] salaries;
+    private int[] roleCodes;
+    private int size;
+    private final Map<String, Integer> internedRoles = new HashMap<>();
+
+    public PayrollSnapshot() {
+        this(1024);
+    }
+
+    public PayrollSnapshot(int expectedSize) {
+        salaries = new double[Math.max(expectedSize, 16)];
+        roleCodes = new int[salaries.length];
+    }
+
+    public static int roleCode(String role) {
+        if (role == null) {
+            return ROLE_OTHER;
+        }
+        switch (role.toLowerCase()) {
+            case "manager":
+                return ROLE_MANAGER;
+            case "developer":
+                return ROLE_DEVELOPER;
+            case "intern":
+                return ROLE_INTERN;
+            default:
+                return ROLE_OTHER;
+        }
+    }
+
+    public void add(String role, double salary) {
+        Integer code = internedRoles.get(role);
+        if (code == null) {
+            code = roleCode(role);
+            internedRoles.put(role, code);
+        }
+        add(code, salary);
+    }
+
+    public void add(int roleCode, double salary) {
+        if (size == salaries.length) {
+            salaries = Arrays.copyOf(salaries, size * 2);
+            roleCodes = Arrays.copyOf(roleCodes, size * 2);
+        }
+        salaries[size] = salary;
+        roleCodes[size] = roleCode;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    double[] salaries() {
+        return salaries;
+    }
+
+    int[] roleCodes() {
+        return roleCodes;
+    }
+}
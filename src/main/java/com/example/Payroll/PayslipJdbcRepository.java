@@ -0,0 +1,43 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Payslip lines are written one JDBC batch per chunk and read back in keyset pages by employee id
+@Repository
+public class PayslipJdbcRepository {
+    static final String INSERT_LINE = "INSERT INTO payslip_lines "
+            + "(run_id, employee_id, employee_name, role, salary, base_salary, bonus, total) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String SELECT_PAGE = "SELECT run_id, employee_id, employee_name, role, salary, base_salary, bonus "
+            + "FROM payslip_lines WHERE run_id = ? AND employee_id > ? ORDER BY employee_id FETCH FIRST ? ROWS ONLY";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertBatch(List<PayslipLine> lines) {
+        jdbcTemplate.batchUpdate(INSERT_LINE, lines, lines.size(), (statement, line) -> {
+            statement.setLong(1, line.getRunId());
+            statement.setLong(2, line.getEmployeeId());
+            statement.setString(3, line.getEmployeeName());
+            statement.setString(4, line.getRole());
+            statement.setDouble(5, line.getSalary());
+            statement.setDouble(6, line.getBaseSalary());
+            statement.setDouble(7, line.getBonus());
+            statement.setDouble(8, line.getTotal());
+        });
+    }
+
+    public List<PayslipLine> findPage(long runId, long afterEmployeeId, int limit) {
+        return jdbcTemplate.query(SELECT_PAGE, (resultSet, rowNum) -> new PayslipLine(
+                resultSet.getLong("run_id"),
+                resultSet.getLong("employee_id"),
+                resultSet.getString("employee_name"),
+                resultSet.getString("role"),
+                resultSet.getDouble("salary"),
+                resultSet.getDouble("base_salary"),
+                resultSet.getDouble("bonus")), runId, afterEmployeeId, limit);
+    }
+}
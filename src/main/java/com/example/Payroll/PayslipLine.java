@@ -0,0 +1,55 @@
+package com.example.Payroll;
+
+// One employee's line of a payroll run, as persisted in payslip_lines
+public class PayslipLine {
+    private final long runId;
+    private final long employeeId;
+    private final String employeeName;
+    private final String role;
+    private final double salary;
+    private final double baseSalary;
+    private final double bonus;
+
+    public PayslipLine(long runId, long employeeId, String employeeName, String role,
+                       double salary, double baseSalary, double bonus) {
+        this.runId = runId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.role = role;
+        this.salary = salary;
+        this.baseSalary = baseSalary;
+        this.bonus = bonus;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public double getBaseSalary() {
+        return baseSalary;
+    }
+
+    public double getBonus() {
+        return bonus;
+    }
+
+    public double getTotal() {
+        return salary + bonus;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Payroll;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// R2DBC access for the reactive /api/v2 endpoints. The connection pool is kept out of the context on purpose:
+// Boot's JDBC DataSource auto-configuration backs off as soon as a ConnectionFactory bean exists, and the servlet
+// stack still needs it (Boot's R2DBC auto-configuration is excluded on PayrollApplication for the same reason).
+// The pool connects to spring.r2dbc.url when set; otherwise to the database of the JDBC DataSource, so both stacks
+// always read the same data: jdbc:<driver>:<rest> becomes r2dbc:pool:<driver>:<rest>.
+@Configuration
+public class ReactiveDataConfig implements DisposableBean {
+    private ConnectionFactory connectionFactory;
+
+    @Bean
+    public DatabaseClient databaseClient(DataSource dataSource, DataSourceProperties properties,
+                                         @Value("${spring.r2dbc.url:}") String url,
+                                         @Value("${spring.r2dbc.username:}") String username,
+                                         @Value("${spring.r2dbc.password:}") String password,
+                                         @Value("${payroll.r2dbc.pool.max-size:20}") int maxSize) throws SQLException {
+        if (url.isEmpty()) {
+            try (Connection connection = dataSource.getConnection()) {
+                url = r2dbcUrl(connection.getMetaData().getURL(), maxSize);
+            }
+            username = properties.determineUsername();
+            password = properties.determinePassword();
+        }
+        connectionFactory = ConnectionFactoryBuilder.withUrl(url).username(username).password(password).build();
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionFactory instanceof Disposable pool) {
+            pool.dispose();
+        }
+    }
+
+    // r2dbc-h2 expects in-memory and file databases as mem:///<name> and file:///<path>; JDBC URL options after
+    // ';' (H2) or '?' (PostgreSQL) are dropped, the pool size is passed as an option
+    static String r2dbcUrl(String jdbcUrl, int maxSize) {
+        if (!jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + ", set spring.r2dbc.url");
+        }
+        String url = jdbcUrl.substring("jdbc:".length()).split("[;?]", 2)[0];
+        if (url.startsWith("h2:mem:") && !url.startsWith("h2:mem://")) {
+            url = "h2:mem:///" + url.substring("h2:mem:".length());
+        } else if (url.startsWith("h2:file:") && !url.startsWith("h2:file://")) {
+            url = "h2:file:///" + url.substring("h2:file:".length());
+        }
+        return "r2dbc:pool:" + url + "?maxSize=" + maxSize;
+    }
+}
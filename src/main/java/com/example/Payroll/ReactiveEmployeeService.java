@@ -0,0 +1,66 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.EmployeeNotFoundException;
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Reactive counterparts of the EmployeeService reads, with the same validation, department grouping, payroll
+// aggregates and write-behind overlay. Nothing blocks: rows come from EmployeeReactiveRepository on demand.
+@Service
+public class ReactiveEmployeeService {
+    @Autowired
+    private EmployeeReactiveRepository employeeReactiveRepository;
+
+    @Autowired
+    private PayrollAggregates payrollAggregates;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    public Flux<Employee> getAllEmployees() {
+        return overlay(employeeReactiveRepository.findAll());
+    }
+
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeReactiveRepository.findById(id)
+                .map(writeBehindBuffer::overlay)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException("Employee not found")));
+    }
+
+    public Mono<Double> calculatePayroll() {
+        if (payrollAggregates.isReady()) {
+            return Mono.fromSupplier(payrollAggregates::getTotalPayroll);
+        }
+        return employeeReactiveRepository.calculateTotalPayroll();
+    }
+
+    public Flux<EmployeeSummary> getTopNHighestPaidEmployees(int n) {
+        if (n < 0) {
+            return Flux.error(new InvalidDataException("Number of employees must not be negative"));
+        }
+        if (n == 0) {
+            return Flux.empty();
+        }
+        return employeeReactiveRepository.findHighestPaid(n)
+                .switchIfEmpty(Flux.error(() -> new EmployeeNotFoundException(" Employee not found")));
+    }
+
+    // Groups arrive in department order (unassigned employees last), as in the streamed servlet endpoint
+    public Mono<Map<String, List<Employee>>> getEmployeesGroupedByDepartment() {
+        return overlay(employeeReactiveRepository.findAllOrderedByDepartment())
+                .switchIfEmpty(Flux.error(() -> new EmployeeNotFoundException(" Employee not found")))
+                .collect(Collectors.groupingBy(EmployeeService::departmentKey, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private Flux<Employee> overlay(Flux<Employee> employees) {
+        return writeBehindBuffer.hasPending() ? employees.map(writeBehindBuffer::overlay) : employees;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Payroll;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Read-your-writes across instances: a client that sends a write gets a cookie holding the end of the
+// read-your-writes window, and while it lasts the client's read-only transactions go to the primary, whichever
+// instance serves them.
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    static final String COOKIE_NAME = "payroll-read-your-writes";
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Duration window;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(now + window.toMillis()))
+                    .path("/")
+                    .maxAge(window.plusSeconds(1))
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            ReplicaRoutingDataSource.setPrimaryRequired(true);
+        } else if (now < stickyUntil(request)) {
+            ReplicaRoutingDataSource.setPrimaryRequired(true);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException ex) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
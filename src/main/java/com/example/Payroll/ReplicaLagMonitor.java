@@ -0,0 +1,56 @@
+package com.example.Payroll;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Measures the replication lag with a heartbeat: every heartbeat-interval the time is written to the primary's
+// replication_heartbeat row, and the age of the value the replica returns is its lag, overestimated by at most
+// one interval.
+@Component
+@ConditionalOnProperty(name = "payroll.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    static final String READ_HEARTBEAT = "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+    static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    public ReplicaLagMonitor(DataSource dataSource) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        this.primaryJdbcTemplate = new JdbcTemplate(routingDataSource.getPrimary());
+        this.replicaJdbcTemplate = new JdbcTemplate(routingDataSource.getReplica());
+    }
+
+    @Scheduled(fixedDelayString = "${payroll.datasource.replica.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        checkLag();
+        try {
+            primaryJdbcTemplate.update(WRITE_HEARTBEAT, System.currentTimeMillis());
+        } catch (DataAccessException ex) {
+            logger.warn("Could not write the replication heartbeat: {}", ex.getMessage());
+        }
+    }
+
+    public void checkLag() {
+        Duration lag;
+        try {
+            Long beatMillis = replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Long.class);
+            lag = beatMillis != null ? Duration.ofMillis(Math.max(0, System.currentTimeMillis() - beatMillis)) : null;
+        } catch (DataAccessException ex) {
+            logger.debug("Could not read the replication heartbeat from the replica: {}", ex.getMessage());
+            lag = null;
+        }
+        routingDataSource.replicaLagMeasured(lag);
+    }
+}
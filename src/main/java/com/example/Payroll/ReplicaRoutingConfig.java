@@ -0,0 +1,59 @@
+package com.example.Payroll;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active with payroll.datasource.replica.enabled=true: the primary DataSource is wrapped in a
+// ReplicaRoutingDataSource with its own bounded pool to payroll.datasource.replica.url, so reporting reads
+// (@Transactional(readOnly = true) service methods) no longer compete with the writes for primary connections.
+// The replica is expected to be a streaming replica of the primary; it is never migrated or written to.
+@Configuration
+@ConditionalOnProperty(name = "payroll.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+    @Value("${payroll.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        Duration maxLag = environment.getProperty("payroll.datasource.replica.max-lag", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+                // one replica cannot stand in for the schemas or databases of several tenants
+                if (new TenantRegistry(environment).isEnabled()) {
+                    throw new IllegalStateException("payroll.datasource.replica cannot be combined with payroll.tenancy.mode");
+                }
+                HikariDataSource replica = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(environment.getRequiredProperty("payroll.datasource.replica.url"))
+                        .username(environment.getProperty("payroll.datasource.replica.username"))
+                        .password(environment.getProperty("payroll.datasource.replica.password"))
+                        .build();
+                replica.setPoolName("replica");
+                replica.setMaximumPoolSize(environment.getProperty("payroll.datasource.replica.maximum-pool-size",
+                        Integer.class, 10));
+                replica.setReadOnly(true);
+                return new ReplicaRoutingDataSource(dataSource, replica, maxLag);
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesWindow));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.Payroll;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to a replica and everything else to the primary. Connections are fetched lazily,
+// on the first statement, so the read-only flag of a @Transactional(readOnly = true) method is known by then
+// (the transaction manager sets it after asking for the connection). Read-only work still goes to the primary
+// while the replica lags more than the tolerance (or cannot be reached), for requests of clients that wrote
+// recently (see ReadYourWritesInterceptor), and for loads that fill shared caches (see onPrimary).
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private volatile boolean replicaAvailable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        setReadOnlyDataSource(new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readsFromReplica() ? replica.getConnection() : primary.getConnection();
+            }
+        });
+    }
+
+    // Reads of the current thread must see its client's recent writes
+    static void setPrimaryRequired(boolean required) {
+        if (required) {
+            primaryRequired.set(Boolean.TRUE);
+        } else {
+            primaryRequired.remove();
+        }
+    }
+
+    // Carries the routing of the current thread over to a task run on another thread
+    static Runnable wrap(Runnable task) {
+        if (primaryRequired.get() == null) {
+            return task;
+        }
+        return () -> {
+            Boolean previous = primaryRequired.get();
+            primaryRequired.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                setPrimaryRequired(previous != null);
+            }
+        };
+    }
+
+    // Runs the loader of a shared cache entry on the primary. Cached entries are keyed by the DataVersion of this
+    // instance, so a value read from a lagging replica would be served under a version it does not reflect.
+    static <T> T onPrimary(Supplier<T> loader) {
+        if (primaryRequired.get() != null) {
+            return loader.get();
+        }
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            primaryRequired.remove();
+        }
+    }
+
+    public boolean readsFromReplica() {
+        return replicaAvailable && primaryRequired.get() == null;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    // Called with every lag measurement; null when the replica could not be reached
+    void replicaLagMeasured(Duration lag) {
+        boolean available = lag != null && lag.compareTo(maxLag) <= 0;
+        if (available != replicaAvailable) {
+            if (available) {
+                logger.info("Read replica caught up (lag {} ms), routing read-only transactions to it", lag.toMillis());
+            } else {
+                logger.warn("Read replica unavailable or lagging (lag {}), routing read-only transactions to the primary",
+                        lag != null ? lag.toMillis() + " ms" : "unknown");
+            }
+        }
+        replicaAvailable = available;
+    }
+
+    DataSource getPrimary() {
+        return primary;
+    }
+
+    DataSource getReplica() {
+        return replica;
+    }
+
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.Payroll;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Counts the rows each repository method returns as payroll.repository.rows{repository, method}.
+// Aggregates (sums, counts, averages) are not rows and are not counted; streams are counted as they are consumed.
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    static final String ROWS_METRIC = "payroll.repository.rows";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Around("this(com.example.Payroll.EmployeeRepository) && execution(public * *(..))")
+    public Object countEmployeeRepositoryRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows(joinPoint, "EmployeeRepository");
+    }
+
+    @Around("this(com.example.Payroll.PayrollRunRepository) && execution(public * *(..))")
+    public Object countPayrollRunRepositoryRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows(joinPoint, "PayrollRunRepository");
+    }
+
+    @Around("within(com.example.Payroll.EmployeeJdbcRepository) && execution(public * *(..))")
+    public Object countEmployeeJdbcRepositoryRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows(joinPoint, "EmployeeJdbcRepository");
+    }
+
+    @Around("within(com.example.Payroll.PayslipJdbcRepository) && execution(public * *(..))")
+    public Object countPayslipJdbcRepositoryRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows(joinPoint, "PayslipJdbcRepository");
+    }
+
+    private Object countRows(ProceedingJoinPoint joinPoint, String repository) throws Throwable {
+        Object result = joinPoint.proceed();
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Collection<?> rows) {
+            counter(repository, method).increment(rows.size());
+        } else if (result instanceof Slice<?> page) {
+            counter(repository, method).increment(page.getNumberOfElements());
+        } else if (result instanceof Optional<?> row) {
+            counter(repository, method).increment(row.isPresent() ? 1 : 0);
+        } else if (result instanceof Stream<?> rows) {
+            Counter counter = counter(repository, method);
+            return rows.peek(row -> counter.increment());
+        } else if (result instanceof PayrollSnapshot snapshot) {
+            counter(repository, method).increment(snapshot.size());
+        } else if (result instanceof Employee || result instanceof PayrollRun) {
+            counter(repository, method).increment();
+        }
+        return result;
+    }
+
+    private Counter counter(String repository, String method) {
+        return counters.computeIfAbsent(repository + '.' + method, key -> Counter.builder(ROWS_METRIC)
+                .description("Rows returned by repository methods")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry));
+    }
+}
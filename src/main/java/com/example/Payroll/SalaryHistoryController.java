@@ -0,0 +1,33 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/employees")
+public class SalaryHistoryController {
+    @Autowired
+    private SalaryHistoryService salaryHistoryService;
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<SalaryHistoryEntry>> getHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(salaryHistoryService.getHistory(id));
+    }
+
+    @PostMapping("/history/compact")
+    public ResponseEntity<HistoryCompactionReport> compact(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salaryHistoryService.compact(from, to));
+    }
+}
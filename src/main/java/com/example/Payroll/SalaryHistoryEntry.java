@@ -0,0 +1,41 @@
+package com.example.Payroll;
+
+import java.time.LocalDate;
+
+// One row of an employee's salary history, effective from effectiveFrom until the day before effectiveTo.
+// effectiveTo is null for the current row.
+public class SalaryHistoryEntry {
+    private final Long employeeId;
+    private final String role;
+    private final Double salary;
+    private final LocalDate effectiveFrom;
+    private final LocalDate effectiveTo;
+
+    public SalaryHistoryEntry(Long employeeId, String role, Double salary, LocalDate effectiveFrom, LocalDate effectiveTo) {
+        this.employeeId = employeeId;
+        this.role = role;
+        this.salary = salary;
+        this.effectiveFrom = effectiveFrom;
+        this.effectiveTo = effectiveTo;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Double getSalary() {
+        return salary;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public LocalDate getEffectiveTo() {
+        return effectiveTo;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Salary history rows are derived from the employees table with set-based statements, so every write path records
+// history the same way and in its own transaction: after employees are changed, the open row of each one whose
+// role or salary differs (or that was deleted) is closed and a new open row is inserted. A row that is closed on
+// the day it became effective was superseded the same day and is dropped.
+@Repository
+public class SalaryHistoryRepository {
+    static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+    static final String OPEN = "DATE '9999-12-31'";
+    // %s selects the ids of the employees to record; its arguments come after the statement's own
+    static final String CLOSE_CHANGED = "UPDATE salary_history SET effective_to = ? "
+            + "WHERE effective_to = " + OPEN + " AND employee_id IN (%s) AND NOT EXISTS (SELECT 1 FROM employees e "
+            + "WHERE e.id = salary_history.employee_id AND e.role IS NOT DISTINCT FROM salary_history.role "
+            + "AND e.salary IS NOT DISTINCT FROM salary_history.salary)";
+    static final String DELETE_SUPERSEDED =
+            "DELETE FROM salary_history WHERE effective_to = ? AND effective_from >= ? AND employee_id IN (%s)";
+    // The first row of an employee is effective from the hiring date, later ones from the day of the change
+    static final String OPEN_CURRENT = "INSERT INTO salary_history (employee_id, role, salary, effective_from) "
+            + "SELECT e.id, e.role, e.salary, CASE WHEN EXISTS (SELECT 1 FROM salary_history p WHERE p.employee_id = e.id) "
+            + "THEN CAST(? AS DATE) ELSE COALESCE(e.hiring_date, CAST(? AS DATE)) END FROM employees e "
+            + "WHERE e.id IN (%s) AND NOT EXISTS (SELECT 1 FROM salary_history h "
+            + "WHERE h.employee_id = e.id AND h.effective_to = " + OPEN + ")";
+    static final String CLOSE_OPEN = "UPDATE salary_history SET effective_to = ? "
+            + "WHERE effective_to = " + OPEN + " AND employee_id IN (%s)";
+    static final String DEPARTMENT_SCOPE = "SELECT id FROM employees WHERE department = ?";
+    static final String ROLE_SCOPE = "SELECT id FROM employees WHERE LOWER(role) = LOWER(?)";
+    // Served by idx_salary_history_as_of; the table is aliased e to reuse the payroll rules of the JPQL queries
+    static final String PAYROLL_AS_OF = "SELECT COALESCE(SUM(" + CustomEmployeeRepository.PAYROLL_EXPRESSION + "), 0) "
+            + "FROM salary_history e WHERE e.effective_to > ? AND e.effective_from <= ?";
+    static final String SELECT_EMPLOYEE_HISTORY = "SELECT employee_id, role, salary, effective_from, effective_to "
+            + "FROM salary_history WHERE employee_id = ? ORDER BY effective_from, id";
+    static final String DELETE_WITHIN = "DELETE FROM salary_history WHERE effective_from >= ? AND effective_to <= ?";
+    static final String TRUNCATE_ENDING_WITHIN = "UPDATE salary_history SET effective_to = ? "
+            + "WHERE effective_to > ? AND effective_to <= ? AND effective_from < ?";
+    static final String EXTEND_STARTING_WITHIN = "UPDATE salary_history SET effective_from = ? "
+            + "WHERE effective_from > ? AND effective_from < ? AND effective_to > ?";
+    static final String SAME_VALUES_FROM = "SELECT b.effective_to FROM salary_history b "
+            + "WHERE b.employee_id = salary_history.employee_id AND b.effective_from = ? "
+            + "AND b.role IS NOT DISTINCT FROM salary_history.role AND b.salary IS NOT DISTINCT FROM salary_history.salary";
+    static final String MERGE_INTO_PREDECESSOR = "UPDATE salary_history SET effective_to = (" + SAME_VALUES_FROM + ") "
+            + "WHERE effective_to = ? AND EXISTS (" + SAME_VALUES_FROM + ")";
+    static final String DELETE_MERGED = "DELETE FROM salary_history WHERE effective_from = ? AND EXISTS ("
+            + "SELECT 1 FROM salary_history a WHERE a.employee_id = salary_history.employee_id "
+            + "AND a.effective_from < ? AND a.effective_to = salary_history.effective_to)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Records the current role and salary of the employees (deleted ones included) as of today
+    public void recordChanges(Collection<Long> employeeIds) {
+        if (!employeeIds.isEmpty()) {
+            record(String.join(", ", Collections.nCopies(employeeIds.size(), "?")), employeeIds.toArray());
+        }
+    }
+
+    public void recordDepartmentChanges(String department) {
+        record(DEPARTMENT_SCOPE, department);
+    }
+
+    public void recordRoleChanges(String role) {
+        record(ROLE_SCOPE, role);
+    }
+
+    // Closes the open rows of a department's employees; must run before they are deleted
+    public int closeDepartment(String department) {
+        return jdbcTemplate.update(String.format(CLOSE_OPEN, DEPARTMENT_SCOPE), Date.valueOf(LocalDate.now()), department);
+    }
+
+    public double calculatePayrollAsOf(LocalDate asOf) {
+        Date date = Date.valueOf(asOf);
+        Double payroll = jdbcTemplate.queryForObject(PAYROLL_AS_OF, Double.class, date, date);
+        return payroll != null ? payroll : 0.0;
+    }
+
+    public List<SalaryHistoryEntry> findByEmployeeId(Long employeeId) {
+        return jdbcTemplate.query(SELECT_EMPLOYEE_HISTORY, (resultSet, rowNum) -> {
+            double salary = resultSet.getDouble("salary");
+            boolean salaryMissing = resultSet.wasNull();
+            LocalDate effectiveTo = resultSet.getDate("effective_to").toLocalDate();
+            return new SalaryHistoryEntry(
+                    resultSet.getLong("employee_id"),
+                    resultSet.getString("role"),
+                    salaryMissing ? null : salary,
+                    resultSet.getDate("effective_from").toLocalDate(),
+                    effectiveTo.equals(OPEN_END) ? null : effectiveTo);
+        }, employeeId);
+    }
+
+    // Collapses [start, end) to the state at its end: rows within the period are removed, rows ending in it end at
+    // its start and rows starting in it start at its start. A row that then continues its unchanged predecessor is
+    // merged into it. Payroll as of any date on or after end is unchanged. Must run in a transaction.
+    public HistoryCompactionReport compact(LocalDate start, LocalDate end) {
+        Date from = Date.valueOf(start);
+        Date to = Date.valueOf(end);
+        int removed = jdbcTemplate.update(DELETE_WITHIN, from, to);
+        int adjusted = jdbcTemplate.update(TRUNCATE_ENDING_WITHIN, from, from, to, from);
+        adjusted += jdbcTemplate.update(EXTEND_STARTING_WITHIN, from, from, to, to);
+        adjusted += jdbcTemplate.update(MERGE_INTO_PREDECESSOR, from, from, from);
+        removed += jdbcTemplate.update(DELETE_MERGED, from, from);
+        return new HistoryCompactionReport(start, end.minusDays(1), removed, adjusted);
+    }
+
+    private void record(String scope, Object... scopeArgs) {
+        Date today = Date.valueOf(LocalDate.now());
+        jdbcTemplate.update(String.format(CLOSE_CHANGED, scope), arguments(scopeArgs, today));
+        jdbcTemplate.update(String.format(DELETE_SUPERSEDED, scope), arguments(scopeArgs, today, today));
+        jdbcTemplate.update(String.format(OPEN_CURRENT, scope), arguments(scopeArgs, today, today));
+    }
+
+    private static Object[] arguments(Object[] scopeArgs, Object... statementArgs) {
+        List<Object> args = new ArrayList<>(List.of(statementArgs));
+        Collections.addAll(args, scopeArgs);
+        return args.toArray();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.EmployeeNotFoundException;
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reads and compacts the salary history that the employee write paths record through SalaryHistoryRepository
+@Service
+public class SalaryHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger(SalaryHistoryService.class);
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Oldest row first; kept after the employee is deleted
+    public List<SalaryHistoryEntry> getHistory(Long employeeId) {
+        List<SalaryHistoryEntry> history = salaryHistoryRepository.findByEmployeeId(employeeId);
+        if (history.isEmpty()) {
+            throw new EmployeeNotFoundException("No salary history for employee " + employeeId);
+        }
+        return history;
+    }
+
+    // Keeps only the state at the end of a closed period (both dates inclusive), so later payroll is unchanged while
+    // payroll as of a date inside the period reports that end state
+    public HistoryCompactionReport compact(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart.isAfter(periodEnd)) {
+            throw new InvalidDataException("Period start must not be after its end");
+        }
+        if (!periodEnd.isBefore(LocalDate.now())) {
+            throw new InvalidDataException("Only closed periods can be compacted; the period must end before today");
+        }
+        HistoryCompactionReport report = transactionTemplate.execute(
+                status -> salaryHistoryRepository.compact(periodStart, periodEnd.plusDays(1)));
+        logger.info("Compacted salary history from {} to {}: {} rows removed, {} adjusted",
+                periodStart, periodEnd, report.getRemovedRows(), report.getAdjustedRows());
+        return report;
+    }
+}
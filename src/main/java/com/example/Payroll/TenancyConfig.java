@@ -0,0 +1,152 @@
+package com.example.Payroll;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Multi-tenancy (payroll.tenancy.mode). With schema or database isolation the primary DataSource is replaced by a
+// TenantRoutingDataSource, so every repository (JPA, JdbcTemplate, Flyway) reads and writes the current tenant's
+// tables without tenant predicates in the SQL:
+// - schema: each tenant, the default one included, has the schema <schema-prefix><tenant> in the primary database
+//   and may hold at most max-connections-per-tenant connections of the shared pool. The limit has to stay below
+//   spring.datasource.hikari.maximum-pool-size, otherwise one tenant could still take the whole pool;
+// - database: each tenant has its own database at payroll.tenancy.datasources.<tenant>.url (with .username and
+//   .password) and its own pool of at most pool.maximum-size connections.
+// The primary schema or database belongs to the default tenant. Flyway migrates every tenant at startup.
+// Tenants are isolated per connection rather than by a tenant column in shared tables (see TenancyMode).
+@Configuration
+public class TenancyConfig implements WebMvcConfigurer {
+    @Autowired
+    private TenantInterceptor tenantInterceptor;
+
+    @Bean
+    public static BeanPostProcessor tenantRoutingDataSourcePostProcessor(Environment environment) {
+        TenantRegistry tenantRegistry = new TenantRegistry(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!tenantRegistry.isEnabled() || !(bean instanceof DataSource dataSource)
+                        || bean instanceof TenantRoutingDataSource) {
+                    return bean;
+                }
+                try {
+                    return tenantRegistry.getMode() == TenancyMode.SCHEMA
+                            ? schemaPerTenant(dataSource, tenantRegistry, environment)
+                            : databasePerTenant(dataSource, tenantRegistry, environment);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException("Cannot set up the tenant DataSources", ex);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy tenantMigrationStrategy(TenantRegistry tenantRegistry) {
+        return flyway -> {
+            flyway.migrate();
+            for (String tenantId : tenantRegistry.getTenantIds()) {
+                if (TenantContext.DEFAULT_TENANT.equals(tenantId)) {
+                    continue;
+                }
+                if (tenantRegistry.getMode() == TenancyMode.SCHEMA) {
+                    // Flyway creates the schema and switches its own connections to it
+                    String schema = tenantRegistry.schemaFor(tenantId);
+                    Flyway.configure().configuration(flyway.getConfiguration())
+                            .defaultSchema(schema).schemas(schema).load().migrate();
+                } else {
+                    TenantContext.runAs(tenantId,
+                            () -> Flyway.configure().configuration(flyway.getConfiguration()).load().migrate());
+                }
+            }
+        };
+    }
+
+    // Applied by Spring Boot to the application task executor, which runs async MVC work such as
+    // StreamingResponseBody. Boot only applies a unique decorator, so this one carries the replica routing
+    // of the request as well.
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return task -> TenantContext.wrap(ReplicaRoutingDataSource.wrap(task));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantInterceptor);
+    }
+
+    private static DataSource schemaPerTenant(DataSource primary, TenantRegistry tenantRegistry, Environment environment)
+            throws SQLException {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConnections = environment.getProperty("payroll.tenancy.max-connections-per-tenant", Integer.class,
+                Math.max(1, poolSize / 2));
+        if (maxConnections >= poolSize) {
+            throw new IllegalStateException("payroll.tenancy.max-connections-per-tenant (" + maxConnections
+                    + ") must be below spring.datasource.hikari.maximum-pool-size (" + poolSize + ")");
+        }
+        Duration acquireTimeout = environment.getProperty("payroll.datasource.connection-acquire-timeout",
+                Duration.class, Duration.ofSeconds(30));
+        String defaultSchema;
+        try (Connection connection = primary.getConnection()) {
+            defaultSchema = connection.getSchema();
+        }
+        Map<String, DataSource> tenantDataSources = new HashMap<>();
+        for (String tenantId : tenantRegistry.getTenantIds()) {
+            String schema = TenantContext.DEFAULT_TENANT.equals(tenantId) ? defaultSchema : tenantRegistry.schemaFor(tenantId);
+            tenantDataSources.put(tenantId, new TenantSchemaDataSource(
+                    new ConnectionLimitingDataSource(primary, maxConnections, acquireTimeout), schema));
+        }
+        return new TenantRoutingDataSource(tenantDataSources, closeables(primary));
+    }
+
+    private static DataSource databasePerTenant(DataSource primary, TenantRegistry tenantRegistry, Environment environment) {
+        int maximumSize = environment.getProperty("payroll.tenancy.pool.maximum-size", Integer.class, 5);
+        int minimumIdle = environment.getProperty("payroll.tenancy.pool.minimum-idle", Integer.class, 0);
+        Map<String, DataSource> tenantDataSources = new HashMap<>();
+        tenantDataSources.put(TenantContext.DEFAULT_TENANT, primary);
+        List<AutoCloseable> owned = closeables(primary);
+        for (String tenantId : tenantRegistry.getTenantIds()) {
+            if (TenantContext.DEFAULT_TENANT.equals(tenantId)) {
+                continue;
+            }
+            String prefix = "payroll.tenancy.datasources." + tenantId + ".";
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(environment.getRequiredProperty(prefix + "url"))
+                    .username(environment.getProperty(prefix + "username"))
+                    .password(environment.getProperty(prefix + "password"))
+                    .build();
+            pool.setPoolName("tenant-" + tenantId);
+            pool.setMaximumPoolSize(maximumSize);
+            pool.setMinimumIdle(minimumIdle);
+            tenantDataSources.put(tenantId, pool);
+            owned.add(pool);
+        }
+        return new TenantRoutingDataSource(tenantDataSources, owned);
+    }
+
+    private static List<AutoCloseable> closeables(DataSource primary) {
+        List<AutoCloseable> closeables = new ArrayList<>();
+        if (primary instanceof AutoCloseable closeable) {
+            closeables.add(closeable);
+        }
+        return closeables;
+    }
+}
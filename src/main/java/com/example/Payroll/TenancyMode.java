@@ -0,0 +1,13 @@
+package com.example.Payroll;
+
+// How tenants are kept apart (payroll.tenancy.mode). There is deliberately no shared-table mode with a tenant
+// discriminator column: the JDBC repositories, set-based updates and salary-history statements would each need
+// a tenant predicate, and one that is missed leaks data across tenants.
+public enum TenancyMode {
+    // a single tenant, the behaviour of a single-company deployment
+    NONE,
+    // one schema per tenant in the primary database, sharing its connection pool
+    SCHEMA,
+    // one database per tenant, each with its own bounded connection pool
+    DATABASE
+}
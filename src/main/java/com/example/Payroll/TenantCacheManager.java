@@ -0,0 +1,49 @@
+package com.example.Payroll;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Gives every tenant its own copy of each cache, built with the same Caffeine settings, so a large tenant only
+// ever evicts its own entries and an id cached for one tenant is never served to another. The default tenant's
+// caches keep their plain names, the other tenants' are named <cache>@<tenant>.
+public class TenantCacheManager implements CacheManager {
+    private final CaffeineCacheManager delegate;
+    private final Caffeine<Object, Object> caffeine;
+    private final Set<String> cacheNames;
+
+    public TenantCacheManager(CaffeineCacheManager delegate, Caffeine<Object, Object> caffeine) {
+        this.delegate = delegate;
+        this.caffeine = caffeine;
+        this.cacheNames = Set.copyOf(delegate.getCacheNames());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (TenantContext.isDefaultTenant() || !cacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        String tenantCacheName = name + "@" + TenantContext.getTenantId();
+        Cache cache = delegate.getCache(tenantCacheName);
+        if (cache == null) {
+            synchronized (this) {
+                cache = delegate.getCache(tenantCacheName);
+                if (cache == null) {
+                    delegate.registerCustomCache(tenantCacheName, caffeine.build());
+                    cache = delegate.getCache(tenantCacheName);
+                }
+            }
+        }
+        return cache;
+    }
+
+    // All caches created so far, for every tenant
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Payroll;
+
+import java.util.function.Supplier;
+
+// The tenant the current thread works for: set per request by TenantInterceptor and around background work by
+// the code that starts it. The default tenant owns the primary schema or database and is used whenever no tenant
+// is set, which is always the case with payroll.tenancy.mode=none.
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+    private static final ThreadLocal<String> currentTenant = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenantId() {
+        String tenantId = currentTenant.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static boolean isDefaultTenant() {
+        return DEFAULT_TENANT.equals(getTenantId());
+    }
+
+    static void set(String tenantId) {
+        currentTenant.set(tenantId);
+    }
+
+    static void clear() {
+        currentTenant.remove();
+    }
+
+    public static void runAs(String tenantId, Runnable action) {
+        callAs(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = currentTenant.get();
+        currentTenant.set(tenantId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                currentTenant.set(previous);
+            } else {
+                currentTenant.remove();
+            }
+        }
+    }
+
+    // Binds a task handed to another thread to the tenant of the thread creating it
+    public static Runnable wrap(Runnable task) {
+        String tenantId = getTenantId();
+        return () -> runAs(tenantId, task);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import com.example.Payroll.Exceptions.TenantNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Resolves the tenant of each request from the payroll.tenancy.header header (the default tenant when absent)
+// and binds it to the request thread; async work such as StreamingResponseBody inherits it through
+// TenantContext#wrap. Unknown tenants are rejected before the handler runs. With tenancy disabled the header is
+// ignored and every request belongs to the default tenant.
+@Component
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Value("${payroll.tenancy.header:X-Tenant-ID}")
+    private String header;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!tenantRegistry.isEnabled()) {
+            return true;
+        }
+        String tenantId = request.getHeader(header);
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = TenantContext.DEFAULT_TENANT;
+        }
+        if (!tenantRegistry.isKnown(tenantId)) {
+            throw new TenantNotFoundException("Tenant not found: " + tenantId);
+        }
+        // R2DBC connections are not routed per tenant
+        if (!TenantContext.DEFAULT_TENANT.equals(tenantId) && handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType() == EmployeeReactiveController.class) {
+            throw new InvalidDataException("The /api/v2 endpoints serve the default tenant only");
+        }
+        TenantContext.set(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
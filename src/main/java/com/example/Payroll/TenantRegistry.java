@@ -0,0 +1,77 @@
+package com.example.Payroll;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// The configured tenants (payroll.tenancy.tenants) and how they are kept apart. Tenant ids end up in schema and
+// pool names, so only lower-case letters, digits and underscores are accepted.
+@Component
+public class TenantRegistry {
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9_]{1,48}");
+
+    private final TenancyMode mode;
+    private final List<String> tenantIds;
+    private final String schemaPrefix;
+
+    public TenantRegistry(TenancyMode mode, List<String> tenants, String schemaPrefix) {
+        this.mode = mode;
+        this.schemaPrefix = schemaPrefix;
+        List<String> ids = new ArrayList<>();
+        ids.add(TenantContext.DEFAULT_TENANT);
+        if (mode != TenancyMode.NONE) {
+            for (String tenant : tenants) {
+                if (!TENANT_ID.matcher(tenant).matches()) {
+                    throw new IllegalStateException("Invalid tenant id '" + tenant + "', use [a-z0-9_] only");
+                }
+                if (!ids.contains(tenant)) {
+                    ids.add(tenant);
+                }
+            }
+        }
+        this.tenantIds = Collections.unmodifiableList(ids);
+    }
+
+    @Autowired
+    public TenantRegistry(Environment environment) {
+        this(TenancyMode.valueOf(environment.getProperty("payroll.tenancy.mode", "none").trim().toUpperCase(Locale.ROOT)),
+                Arrays.stream(environment.getProperty("payroll.tenancy.tenants", "").split(","))
+                        .map(String::trim).filter(tenant -> !tenant.isEmpty()).toList(),
+                environment.getProperty("payroll.tenancy.schema-prefix", "tenant_"));
+    }
+
+    public TenancyMode getMode() {
+        return mode;
+    }
+
+    public boolean isEnabled() {
+        return mode != TenancyMode.NONE;
+    }
+
+    // The default tenant first, then the configured ones
+    public List<String> getTenantIds() {
+        return tenantIds;
+    }
+
+    public boolean isKnown(String tenantId) {
+        return tenantIds.contains(tenantId);
+    }
+
+    public String schemaFor(String tenantId) {
+        return schemaPrefix + tenantId;
+    }
+
+    // Runs the action once for every tenant, with that tenant set on the current thread
+    public void forEachTenant(Runnable action) {
+        for (String tenantId : tenantIds) {
+            TenantContext.runAs(tenantId, action);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Payroll;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Routes every connection request to the DataSource of the current tenant. Each tenant's DataSource is bounded
+// (its own pool, or a share of the primary pool), so a busy tenant waits for its own connections instead of
+// taking everyone else's. An unknown tenant fails instead of falling back to the default tenant's data.
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(TenantRoutingDataSource.class);
+
+    private final Map<String, DataSource> tenantDataSources;
+    private final List<AutoCloseable> ownedResources;
+
+    public TenantRoutingDataSource(Map<String, DataSource> tenantDataSources, List<AutoCloseable> ownedResources) {
+        this.tenantDataSources = Map.copyOf(tenantDataSources);
+        this.ownedResources = ownedResources;
+        setTargetDataSources(new HashMap<>(tenantDataSources));
+        setDefaultTargetDataSource(tenantDataSources.get(TenantContext.DEFAULT_TENANT));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TenantContext.getTenantId();
+    }
+
+    public DataSource getTenantDataSource(String tenantId) {
+        return tenantDataSources.get(tenantId);
+    }
+
+    // Closes the pools created for the tenants and the primary one
+    public void close() {
+        for (AutoCloseable resource : ownedResources) {
+            try {
+                resource.close();
+            } catch (Exception ex) {
+                logger.warn("Could not close tenant DataSource {}", resource, ex);
+            }
+        }
+    }
+}
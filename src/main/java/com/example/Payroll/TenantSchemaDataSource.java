@@ -0,0 +1,43 @@
+package com.example.Payroll;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Hands out connections switched to one schema, so unqualified SQL from JPA, JdbcTemplate and Flyway runs
+// against that schema's tables. The schema is set on every checkout: pooled connections are shared by all
+// tenants and keep whatever schema their previous user left.
+public class TenantSchemaDataSource extends DelegatingDataSource {
+    private final String schema;
+
+    public TenantSchemaDataSource(DataSource targetDataSource, String schema) {
+        super(targetDataSource);
+        this.schema = schema;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return switched(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return switched(super.getConnection(username, password));
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    private Connection switched(Connection connection) throws SQLException {
+        try {
+            connection.setSchema(schema);
+            return connection;
+        } catch (SQLException | RuntimeException ex) {
+            connection.close();
+            throw ex;
+        }
+    }
+}
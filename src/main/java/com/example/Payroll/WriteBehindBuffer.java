@@ -0,0 +1,194 @@
+package com.example.Payroll;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Write-behind mode for employee updates (payroll.write-behind.enabled). Updates are coalesced per employee id,
+// so only the latest change of each employee is written, and flushed as one SELECT plus one JDBC batch UPDATE
+// every flush-interval or as soon as max-pending employees are waiting. Reads returning employee rows overlay the
+// pending changes; aggregates such as the payroll totals only see them after the flush, which publishes the usual
+// EmployeeChangedEvents, so the aggregates, caches and ETags follow after commit.
+// Changes are buffered per tenant and each tenant's are flushed in its own transactions.
+@Component
+public class WriteBehindBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    @Value("${payroll.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${payroll.write-behind.max-pending:500}")
+    private int maxPending;
+
+    private final Map<String, Map<Long, Employee>> pendingByTenant = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean hasPending() {
+        return !pending().isEmpty();
+    }
+
+    public boolean isPending(Long id) {
+        return pending().containsKey(id);
+    }
+
+    // Only name, role, salary and hiring date are taken over, as in EmployeeService#updateEmployee
+    public Employee enqueue(Long id, Employee update) {
+        Employee change = new Employee(id, update.getName(), update.getRole(), update.getSalary(), null, update.getHiringDate());
+        Map<Long, Employee> pending = pending();
+        pending.put(id, change);
+        employeesCache().evict(id);
+        dataVersion.bump();
+        if (closed || pending.size() >= maxPending) {
+            flush();
+        }
+        return change;
+    }
+
+    // Drops a pending change that a synchronous write supersedes; waits for a flush that is writing it
+    public void discard(Long id) {
+        Map<Long, Employee> pending = pending();
+        if (pending.containsKey(id)) {
+            flushLock.lock();
+            try {
+                pending.remove(id);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // The employee as it will be after the pending change, or the employee itself. A pending change has no
+    // version yet, so it is returned without one (and without an ETag).
+    public Employee overlay(Employee employee) {
+        Employee change = employee.getId() != null ? pending().get(employee.getId()) : null;
+        if (change == null) {
+            return employee;
+        }
+        return new Employee(employee.getId(), change.getName(), change.getRole(), change.getSalary(),
+                employee.getDepartment(), change.getHiringDate());
+    }
+
+    // The employees with a pending change as they will be after it, for reports that filter or order by the changed
+    // columns. Employees deleted since the change was buffered are left out.
+    public List<Employee> pendingEmployees() {
+        Map<Long, Employee> pending = pending();
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        return employeeJdbcRepository.findAllById(List.copyOf(pending.keySet())).stream().map(this::overlay).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${payroll.write-behind.flush-interval:PT1S}",
+            initialDelayString = "${payroll.write-behind.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        flushAll();
+    }
+
+    // Flushes the changes of every tenant; returns the number of employees written
+    public int flushAll() {
+        int written = 0;
+        for (String tenantId : List.copyOf(pendingByTenant.keySet())) {
+            written += TenantContext.callAs(tenantId, this::flush);
+        }
+        return written;
+    }
+
+    // Flushes the changes of the current tenant; returns the number of employees written
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Employee> pending = pending();
+            int written = 0;
+            List<Employee> changes = new ArrayList<>(pending.values());
+            for (int from = 0; from < changes.size(); from += maxPending) {
+                List<Employee> batch = changes.subList(from, Math.min(from + maxPending, changes.size()));
+                written += transactionTemplate.execute(status -> write(batch));
+                // a change enqueued again while this batch was written stays pending for the next flush
+                batch.forEach(change -> pending.remove(change.getId(), change));
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int write(List<Employee> batch) {
+        Map<Long, Employee> before = employeeJdbcRepository.findAllById(batch.stream().map(Employee::getId).toList())
+                .stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+        List<Employee> after = new ArrayList<>(batch.size());
+        for (Employee change : batch) {
+            Employee current = before.get(change.getId());
+            if (current == null) {
+                logger.warn("Dropping buffered update of employee {}, which no longer exists", change.getId());
+                continue;
+            }
+            Employee updated = overlay(current);
+            updated.setVersion(current.getVersion() + 1);
+            after.add(updated);
+        }
+        employeeJdbcRepository.updateBatch(after);
+        salaryHistoryRepository.recordChanges(after.stream().map(Employee::getId).toList());
+        for (Employee updated : after) {
+            employeesCache().evict(updated.getId());
+            eventPublisher.publishEvent(new EmployeeChangedEvent(before.get(updated.getId()), updated));
+        }
+        logger.debug("Flushed {} buffered employee updates", after.size());
+        return after.size();
+    }
+
+    @PreDestroy
+    public void drain() {
+        closed = true;
+        int written = flushAll();
+        if (written > 0) {
+            logger.info("Flushed {} buffered employee updates on shutdown", written);
+        }
+    }
+
+    private Map<Long, Employee> pending() {
+        return pendingByTenant.computeIfAbsent(TenantContext.getTenantId(), tenantId -> new ConcurrentHashMap<>());
+    }
+
+    private Cache employeesCache() {
+        return cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+    }
+}
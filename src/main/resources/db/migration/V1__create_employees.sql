@@ -0,0 +1,10 @@
+-- Schema previously generated by Hibernate from the Employee entity.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+CREATE TABLE employees (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255),
+    role        VARCHAR(255),
+    salary      DOUBLE PRECISION,
+    department  VARCHAR(255),
+    hiring_date DATE
+);
@@ -0,0 +1,12 @@
+-- findByDepartmentName, findSalaryStatsByDepartment and the department-ordered stream;
+-- salary is included so the per-department AVG is answered from the index alone
+CREATE INDEX idx_employees_department_salary ON employees (department, salary);
+
+-- Exact role filters
+CREATE INDEX idx_employees_role ON employees (role);
+
+-- findHiredAfter
+CREATE INDEX idx_employees_hiring_date ON employees (hiring_date);
+
+-- findHighestPaid (ORDER BY salary DESC with a limit)
+CREATE INDEX idx_employees_salary_desc ON employees (salary DESC);
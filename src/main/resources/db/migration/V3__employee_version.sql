@@ -0,0 +1,2 @@
+-- Optimistic locking column for Employee (@Version); existing rows start at version 0
+ALTER TABLE employees ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
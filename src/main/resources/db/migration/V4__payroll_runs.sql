@@ -0,0 +1,30 @@
+-- Asynchronous payroll runs. last_employee_id is the keyset cursor of the last committed chunk, so an
+-- interrupted run continues from there; payslip_lines rows are written in the same transaction.
+CREATE TABLE payroll_runs (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status              VARCHAR(20) NOT NULL,
+    total_employees     BIGINT NOT NULL,
+    processed_employees BIGINT NOT NULL,
+    last_employee_id    BIGINT NOT NULL,
+    total_salary        DOUBLE PRECISION NOT NULL,
+    total_bonus         DOUBLE PRECISION NOT NULL,
+    total_payroll       DOUBLE PRECISION NOT NULL,
+    created_at          TIMESTAMP NOT NULL,
+    started_at          TIMESTAMP,
+    finished_at         TIMESTAMP,
+    error               VARCHAR(1000)
+);
+
+CREATE INDEX idx_payroll_runs_status ON payroll_runs (status);
+
+CREATE TABLE payslip_lines (
+    run_id        BIGINT NOT NULL REFERENCES payroll_runs (id) ON DELETE CASCADE,
+    employee_id   BIGINT NOT NULL,
+    employee_name VARCHAR(255),
+    role          VARCHAR(255),
+    salary        DOUBLE PRECISION NOT NULL,
+    base_salary   DOUBLE PRECISION NOT NULL,
+    bonus         DOUBLE PRECISION NOT NULL,
+    total         DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (run_id, employee_id)
+);
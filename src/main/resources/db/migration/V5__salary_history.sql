@@ -0,0 +1,22 @@
+-- Role and salary of every employee over time. A row is effective over [effective_from, effective_to); the
+-- current row of an employee is open-ended (effective_to = 9999-12-31), so "as of a date" is one range predicate.
+-- Rows outlive their employee, and only compaction of a closed period rewrites them.
+CREATE TABLE salary_history (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id    BIGINT NOT NULL,
+    role           VARCHAR(255),
+    salary         DOUBLE PRECISION,
+    effective_from DATE NOT NULL,
+    effective_to   DATE DEFAULT DATE '9999-12-31' NOT NULL
+);
+
+-- Per-employee history and closing an employee's open row
+CREATE INDEX idx_salary_history_employee ON salary_history (employee_id, effective_to);
+
+-- Payroll as of a date (effective_to > :asOf AND effective_from <= :asOf); role and salary are included so the
+-- payroll is summed from the index alone
+CREATE INDEX idx_salary_history_as_of ON salary_history (effective_to, effective_from, role, salary);
+
+-- Existing employees start with their current role and salary, effective from their hiring date
+INSERT INTO salary_history (employee_id, role, salary, effective_from)
+SELECT id, role, salary, COALESCE(hiring_date, CURRENT_DATE) FROM employees;
@@ -0,0 +1,8 @@
+-- Written to the primary every payroll.datasource.replica.heartbeat-interval; the age of the value a read replica
+-- returns is its replication lag
+CREATE TABLE replication_heartbeat (
+    id          INT PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0);
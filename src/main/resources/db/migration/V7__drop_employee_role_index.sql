@@ -0,0 +1,3 @@
+-- Every role filter compares LOWER(role), which a plain role index cannot serve; PostgreSQL indexes the
+-- expression instead (db/vendor/postgresql V2_1)
+DROP INDEX idx_employees_role;
@@ -0,0 +1,77 @@
+package com.example.Payroll;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessLogFilterTests {
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+        filter = new AccessLogFilter();
+        ReflectionTestUtils.setField(filter, "slowThreshold", Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    public void testSampledRequestIsLoggedAsKeyValues() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/7");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        Map<String, Object> fields = appender.list.get(0).getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value == null ? "" : pair.value));
+        assertEquals("GET", fields.get("method"));
+        assertEquals("/api/employees/7", fields.get("uri"));
+        assertEquals(200, fields.get("status"));
+        assertEquals(true, fields.get("sampled"));
+        assertTrue(fields.containsKey("durationMs"));
+    }
+
+    @Test
+    public void testServerErrorsAreLoggedWhenNotSampled() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(500);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees/payroll"), failed, new MockFilterChain());
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        KeyValuePair uri = appender.list.get(0).getKeyValuePairs().get(1);
+        assertEquals("/api/employees/payroll", uri.value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.Payroll;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Records the SQL Hibernate prepares so the index usage tests can EXPLAIN the statements the repository really
+// issues. Registered by class name through spring.jpa.properties.hibernate.session_factory.statement_inspector.
+public class CapturingStatementInspector implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    // Runs the query and returns the last SELECT it prepared
+    static String capture(Runnable query) {
+        statements.clear();
+        query.run();
+        List<String> selects = statements.stream()
+                .filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        if (selects.isEmpty()) {
+            throw new IllegalStateException("The query did not prepare a SELECT");
+        }
+        return selects.get(selects.size() - 1);
+    }
+}
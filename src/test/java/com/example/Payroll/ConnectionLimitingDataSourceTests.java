@@ -0,0 +1,65 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionLimitingDataSourceTests {
+
+    @Test
+    public void testPermitIsReleasedOnceWhenConnectionCloses() throws Exception {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        Connection targetConnection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(targetConnection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+        // Act
+        Connection connection = dataSource.getConnection();
+        int availableWhileOpen = dataSource.getAvailablePermits();
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertEquals(1, availableWhileOpen);
+        assertEquals(2, dataSource.getAvailablePermits());
+        verify(targetConnection, times(1)).close();
+    }
+
+    @Test
+    public void testGetConnectionTimesOutWhenAllPermitsAreTaken() throws Exception {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+        Connection connection = dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        connection.close();
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    public void testPermitIsReleasedWhenTargetFails() throws Exception {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
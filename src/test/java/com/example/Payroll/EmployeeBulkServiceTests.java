@@ -0,0 +1,126 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeBulkServiceTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollAggregates payrollAggregates;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long johnId;
+    private Long janeId;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        johnId = employeeRepository.save(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1))).getId();
+        janeId = employeeRepository.save(
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))).getId();
+        employeeRepository.save(new Employee(null, "Bob Johnson", "developer", 60000.0, "Engineering", LocalDate.of(2022, 6, 1)));
+        payrollAggregates.reconcile();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        payrollAggregates.reconcile();
+    }
+
+    @Test
+    public void testDryRunReportsImpactWithoutChangingAnything() {
+        // Arrange
+        double payrollBefore = employeeRepository.calculateTotalPayroll();
+
+        // Act
+        BulkChangeReport report = employeeBulkService.raiseSalaries("Engineering", null, 10.0, true);
+
+        // Assert
+        assertTrue(report.isDryRun());
+        assertEquals(2, report.getAffectedRows());
+        assertEquals(payrollBefore, report.getTotalPayrollBefore(), 0.001);
+        assertTrue(report.getPayrollDelta() > 0);
+        assertEquals(70000.0, employeeRepository.findById(janeId).orElseThrow().getSalary(), 0.001);
+        assertEquals(payrollBefore, employeeService.calculatePayroll(), 0.001);
+    }
+
+    @Test
+    public void testRaiseUpdatesSalariesVersionsCacheAndAggregates() {
+        // Arrange
+        Employee cached = employeeService.getEmployeeById(janeId).orElseThrow();
+
+        // Act
+        BulkChangeReport report = employeeBulkService.raiseSalaries(null, "DEVELOPER", 10.0, false);
+
+        // Assert
+        assertFalse(report.isDryRun());
+        assertEquals(2, report.getAffectedRows());
+        Employee jane = employeeService.getEmployeeById(janeId).orElseThrow();
+        assertEquals(77000.0, jane.getSalary(), 0.001);
+        assertEquals(cached.getVersion() + 1, jane.getVersion());
+        assertEquals(80000.0, employeeRepository.findById(johnId).orElseThrow().getSalary(), 0.001);
+        assertEquals(employeeRepository.calculateTotalPayroll(), employeeService.calculatePayroll(), 0.001);
+        assertEquals(report.getTotalPayrollAfter(), employeeService.calculatePayroll(), 0.001);
+        assertFalse(payrollAggregates.reconcile().isDriftDetected());
+    }
+
+    @Test
+    public void testDeleteDepartmentEndpoint() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/employees/bulk").param("department", "Engineering").param("dryRun", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedRows").value(2))
+                .andExpect(jsonPath("$.dryRun").value(true));
+        assertEquals(3, employeeRepository.count());
+
+        mockMvc.perform(delete("/api/employees/bulk").param("department", "Engineering"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operation").value("delete"))
+                .andExpect(jsonPath("$.affectedRows").value(2));
+        assertEquals(1, employeeRepository.count());
+        assertEquals(1, payrollAggregates.getEmployeeCount());
+    }
+
+    @Test
+    public void testRaiseRejectsAmbiguousOrInvalidInput() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/bulk/raise")
+                        .param("department", "Engineering").param("role", "Developer").param("percentage", "5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/employees/bulk/raise").param("department", "Engineering").param("percentage", "-100"))
+                .andExpect(status().isBadRequest());
+    }
+}
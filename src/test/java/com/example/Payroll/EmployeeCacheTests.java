@@ -0,0 +1,130 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.EmployeeNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class EmployeeCacheTests {
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long employeeId;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        employeeId = employeeRepository.save(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1))).getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetEmployeeByIdIsCached() {
+        // Act
+        employeeService.getEmployeeById(employeeId);
+        employeeRepository.deleteById(employeeId);
+
+        // Assert
+        assertEquals("John Doe", employeeService.getEmployeeById(employeeId).get().getName());
+    }
+
+    @Test
+    public void testUpdateEvictsCachedEmployee() {
+        // Arrange
+        employeeService.getEmployeeById(employeeId);
+
+        // Act
+        employeeService.updateEmployee(employeeId,
+                new Employee(employeeId, "John Doe", "Manager", 95000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+
+        // Assert
+        assertEquals(95000.0, employeeService.getEmployeeById(employeeId).get().getSalary());
+    }
+
+    @Test
+    public void testCreateWithExistingIdEvictsCachedEmployee() {
+        // Arrange
+        employeeService.getEmployeeById(employeeId);
+
+        // Act
+        employeeService.createEmployee(
+                new Employee(employeeId, "John Doe", "Director", 120000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(employeeId));
+        assertEquals("Director", employeeService.getEmployeeById(employeeId).get().getRole());
+    }
+
+    @Test
+    public void testDeleteEvictsCachedEmployee() {
+        // Arrange
+        employeeService.getEmployeeById(employeeId);
+
+        // Act
+        employeeService.deleteEmployee(employeeId);
+
+        // Assert
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(employeeId));
+    }
+
+    @Test
+    public void testNoStaleReadAfterConcurrentUpdates() throws Exception {
+        // Arrange
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(readers.submit(() -> {
+                while (running.get()) {
+                    assertNotNull(employeeService.getEmployeeById(employeeId).get().getSalary());
+                }
+            }));
+        }
+
+        // Act & Assert
+        try {
+            for (int i = 1; i <= 200; i++) {
+                double salary = 80000.0 + i;
+                employeeService.updateEmployee(employeeId,
+                        new Employee(employeeId, "John Doe", "Manager", salary, "Marketing", LocalDate.of(2020, 1, 1)));
+                assertEquals(salary, employeeService.getEmployeeById(employeeId).get().getSalary());
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            readers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+}
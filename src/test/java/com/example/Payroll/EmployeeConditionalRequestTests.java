@@ -0,0 +1,93 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeConditionalRequestTests {
+    private static final String UPDATE_BODY =
+            "{\"name\":\"John Doe\",\"role\":\"Manager\",\"salary\":90000.0,\"hiringDate\":\"2020-01-01\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long employeeId;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        employeeId = employeeRepository.save(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1))).getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testCollectionReadIsNotModifiedUntilAWrite() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(put("/api/employees/" + employeeId).contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(is(etag))));
+    }
+
+    @Test
+    public void testEmployeeReadUsesEntityVersion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/" + employeeId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        mockMvc.perform(get("/api/employees/" + employeeId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testUpdateWithStaleIfMatchIsRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + employeeId).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/api/employees/" + employeeId).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals(90000.0, employeeRepository.findById(employeeId).orElseThrow().getSalary(), 0.001);
+    }
+}
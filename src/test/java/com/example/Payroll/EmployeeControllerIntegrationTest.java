@@ -1,26 +1,41 @@
 package com.example.Payroll;
 
+import com.example.Payroll.Exceptions.InvalidDataException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 //import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
+@Import({DataVersion.class, JsonResponseCache.class, TenantRegistry.class})
 public class EmployeeControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
@@ -70,4 +85,116 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.Engineering[1].role", is("DevOps Engineer")));
     }
 
+    @Test
+    public void testGetEmployeesPage() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee(11L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(12L, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))
+        );
+
+        when(employeeService.getEmployeesAfter(10L, 2)).thenReturn(employees);
+
+        mockMvc.perform(get("/api/employees").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "12"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(12)));
+    }
+
+    @Test
+    public void testGetEmployeesPageWithoutLimitUsesTheDefaultPageSize() throws Exception {
+        when(employeeService.getEmployeesAfter(10L, EmployeeService.DEFAULT_PAGE_SIZE)).thenReturn(List.of(
+                new Employee(11L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1))
+        ));
+
+        mockMvc.perform(get("/api/employees").param("after", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(11)));
+
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    public void testExportEmployeesAsNdjson() throws Exception {
+        when(employeeService.streamAllEmployees()).thenReturn(Stream.of(
+                new Employee(1L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(2L, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))
+        ));
+
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(allOf(
+                        startsWith("{\"id\":1,\"name\":\"John Doe\""),
+                        containsString("}\n{\"id\":2,\"name\":\"Jane Smith\""),
+                        endsWith("}\n"))));
+    }
+
+    @Test
+    public void testExportEmployeesAsCborAndSmile() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee(1L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(2L, "Jane Smith", "Developer", null, "Engineering", LocalDate.of(2021, 3, 15))
+        );
+        Map<MediaType, ObjectMapper> readers = Map.of(
+                MediaType.APPLICATION_CBOR, objectMapper.copyWith(new CBORFactory()),
+                MediaType.parseMediaType(EmployeeController.APPLICATION_SMILE_VALUE), objectMapper.copyWith(new SmileFactory()));
+
+        for (Map.Entry<MediaType, ObjectMapper> format : readers.entrySet()) {
+            when(employeeService.streamAllEmployees()).thenReturn(employees.stream());
+
+            MvcResult result = mockMvc.perform(get("/api/employees").accept(format.getKey()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format.getKey()))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            List<Employee> decoded = format.getValue().readValue(body, new TypeReference<List<Employee>>() {});
+            assertEquals(2, decoded.size());
+            assertEquals("John Doe", decoded.get(0).getName());
+            assertEquals(LocalDate.of(2020, 1, 1), decoded.get(0).getHiringDate());
+            assertNull(decoded.get(1).getSalary());
+            assertTrue(body.length < objectMapper.writeValueAsBytes(employees).length);
+        }
+    }
+
+    @Test
+    public void testStreamEmployeesGroupedByDepartment() throws Exception {
+        when(employeeService.streamEmployeesGroupedByDepartment(0, null)).thenReturn(Stream.of(
+                new Employee(2L, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(3L, "Bob Johnson", "Developer", 65000.0, "Engineering", LocalDate.of(2022, 6, 1)),
+                new Employee(1L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(4L, "Tom White", "Intern", 30000.0, null, LocalDate.of(2024, 7, 1))
+        ));
+
+        MvcResult result = mockMvc.perform(get("/api/employees/grouped-by-department/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Engineering", hasSize(2)))
+                .andExpect(jsonPath("$.Engineering[1].name", is("Bob Johnson")))
+                .andExpect(jsonPath("$.Marketing[0].name", is("John Doe")))
+                .andExpect(jsonPath("$.Unassigned[0].name", is("Tom White")));
+    }
+
+    @Test
+    public void testStreamRejectsBadLimitBeforeOpeningTheCursor() throws Exception {
+        doThrow(new InvalidDataException("Limit must be between 1 and 1000"))
+                .when(employeeService).validateDepartmentPage(0, 0);
+
+        mockMvc.perform(get("/api/employees/grouped-by-department/stream").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).streamEmployeesGroupedByDepartment(anyLong(), any());
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "payroll.import.batch-size=2")
+@Transactional
+public class EmployeeImportServiceTests {
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    public void testImportJson() throws Exception {
+        // Arrange
+        String json = "[" +
+                "{\"name\":\"John Doe\",\"role\":\"Manager\",\"salary\":80000.0,\"department\":\"Marketing\",\"hiringDate\":\"2020-01-01\"}," +
+                "{\"name\":\"Jane Smith\",\"role\":\"Developer\",\"department\":\"Engineering\"}," +
+                "{\"name\":\"Bob Johnson\",\"role\":\"Developer\",\"salary\":\"lots\"}," +
+                "{\"name\":\"Alice Brown\",\"role\":\"Intern\",\"salary\":30000.0,\"department\":\"Engineering\"}," +
+                "{\"name\":\"Tom White\",\"role\":\"Developer\",\"salary\":65000.0,\"department\":\"Engineering\"}" +
+                "]";
+
+        // Act
+        ImportReport report = employeeImportService.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(5, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("salary is required", report.getErrors().get(0).getMessage());
+        assertEquals(3, report.getErrors().get(1).getRow());
+        assertEquals(3, employeeRepository.count());
+        assertEquals(LocalDate.of(2020, 1, 1), employeeRepository.findByDepartmentName("Marketing").get(0).getHiringDate());
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        // Arrange
+        String csv = "name,role,salary,department,hiringDate\n" +
+                "\"Doe, John\",Manager,80000,Marketing,2020-01-01\n" +
+                "Jane Smith,Developer,70000,Engineering,not-a-date\n" +
+                "\n" +
+                "Bob Johnson,,65000,Engineering,2022-06-01\n" +
+                "Alice Brown,Intern,30000,Engineering,\n";
+
+        // Act
+        ImportReport report = employeeImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(4, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("role is required", report.getErrors().get(1).getMessage());
+        List<Employee> marketing = employeeRepository.findByDepartmentName("Marketing");
+        assertEquals("Doe, John", marketing.get(0).getName());
+    }
+
+    @Test
+    public void testParseCsvLine() {
+        // Act
+        List<String> values = EmployeeImportService.parseCsvLine("a,\"b,\"\"c\"\"\",,d");
+
+        // Assert
+        assertEquals(List.of("a", "b,\"c\"", "", "d"), values);
+        assertTrue(EmployeeImportService.parseCsvLine("").get(0).isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Checks the H2 query plans of the filtered and ordered queries in CustomEmployeeRepository against the
+// indexes created by the Flyway migrations. Each test EXPLAINs the statement Hibernate prepared for the repository
+// call, so a change to the JPQL that stops an index from applying fails here.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.Payroll.CapturingStatementInspector")
+public class EmployeeIndexUsageTests {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        String[] departments = {"Engineering", "Marketing", "Finance", "Operations"};
+        String[] roles = {"Manager", "Developer", "Intern", "Analyst"};
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(new Employee(null, "Employee " + i, roles[i % roles.length], 30000.0 + i * 100,
+                    departments[i % departments.length], LocalDate.of(2015, 1, 1).plusDays(i * 10L)));
+        }
+        employeeRepository.saveAllAndFlush(employees);
+    }
+
+    @Test
+    public void testFindByDepartmentNameUsesDepartmentIndex() {
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findByDepartmentName("Engineering"));
+        assertUsesIndex(sql, "IDX_EMPLOYEES_DEPARTMENT_SALARY", "Engineering");
+    }
+
+    @Test
+    public void testSalaryStatsByDepartmentUsesDepartmentIndex() {
+        String sql = CapturingStatementInspector.capture(
+                () -> employeeRepository.findSalaryStatsByDepartment("Engineering"));
+        assertUsesIndex(sql, "IDX_EMPLOYEES_DEPARTMENT_SALARY", "Engineering");
+    }
+
+    @Test
+    public void testHighestPaidUsesSalaryIndex() {
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findHighestPaid(PageRequest.of(0, 5)));
+        assertUsesIndex(sql, "IDX_EMPLOYEES_SALARY_DESC", 5);
+    }
+
+    @Test
+    public void testHiredAfterUsesHiringDateIndex() {
+        LocalDate cutoff = LocalDate.of(2020, 6, 1);
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findHiredAfter(cutoff));
+        assertUsesIndex(sql, "IDX_EMPLOYEES_HIRING_DATE", cutoff);
+    }
+
+    @Test
+    public void testPayrollAsOfUsesSalaryHistoryRangeIndex() {
+        LocalDate date = LocalDate.of(2021, 1, 1);
+        assertUsesIndex(SalaryHistoryRepository.PAYROLL_AS_OF, "IDX_SALARY_HISTORY_AS_OF", date, date);
+    }
+
+    private void assertUsesIndex(String sql, String index, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
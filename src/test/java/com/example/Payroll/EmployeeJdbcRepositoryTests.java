@@ -0,0 +1,69 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The JDBC streams read on their own connection, so the rows are committed instead of rolled back per test
+@DataJpaTest
+@Import(EmployeeJdbcRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeJdbcRepositoryTests {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeJdbcRepository employeeJdbcRepository;
+
+    @BeforeEach
+    public void setUp() {
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(null, "Bob Johnson", "Developer", 65000.0, "Engineering", LocalDate.of(2022, 6, 1)),
+                new Employee(null, "Tom White", "Intern", 30000.0, null, LocalDate.of(2024, 7, 1)),
+                new Employee(null, "Alice Brown", "Developer", 60000.0, "Engineering", LocalDate.of(2023, 2, 1))
+        ));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testStreamByDepartmentOrdersGroupsWithUnassignedLast() {
+        // Act
+        List<String> names;
+        try (Stream<Employee> employees = employeeJdbcRepository.streamByDepartment(0, null)) {
+            names = employees.map(Employee::getName).toList();
+        }
+
+        // Assert
+        assertEquals(List.of("Jane Smith", "Bob Johnson", "Alice Brown", "John Doe", "Tom White"), names);
+    }
+
+    @Test
+    public void testStreamByDepartmentPagesEveryGroup() {
+        // Act
+        List<String> names;
+        try (Stream<Employee> employees = employeeJdbcRepository.streamByDepartment(1, 1)) {
+            names = employees.map(Employee::getName).toList();
+        }
+
+        // Assert
+        assertEquals(List.of("Bob Johnson"), names);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeReactiveControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollAggregates payrollAggregates;
+
+    private Long johnId;
+
+    @BeforeEach
+    public void setup() {
+        johnId = employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(null, "Tom White", "Intern", 30000.0, null, LocalDate.of(2024, 7, 1))
+        )).get(0).getId();
+        payrollAggregates.reconcile();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        payrollAggregates.reconcile();
+    }
+
+    @Test
+    public void testGetAllEmployeesAsJsonAndNdjson() throws Exception {
+        // Act & Assert
+        perform(get("/api/v2/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].name", is("John Doe")))
+                .andExpect(jsonPath("$[0].hiringDate", is("2020-01-01")));
+        String ndjson = perform(get("/api/v2/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, ndjson.lines().count());
+    }
+
+    @Test
+    public void testGetEmployeeById() throws Exception {
+        // Act & Assert
+        perform(get("/api/v2/employees/" + johnId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("John Doe")))
+                .andExpect(jsonPath("$.version", is(0)));
+        perform(get("/api/v2/employees/" + (johnId + 1000)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testPayrollTopSalariesAndGroupsMatchTheServletEndpoints() throws Exception {
+        // Act & Assert
+        perform(get("/api/v2/employees/payroll"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", closeTo(employeeRepository.calculateTotalPayroll(), 0.001)));
+        perform(get("/api/v2/employees/top-salaries/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("John Doe", "Jane Smith")));
+        perform(get("/api/v2/employees/top-salaries/-1"))
+                .andExpect(status().isBadRequest());
+        perform(get("/api/v2/employees/grouped-by-department"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Engineering[0].name", is("Jane Smith")))
+                .andExpect(jsonPath("$.Marketing[0].name", is("John Doe")))
+                .andExpect(jsonPath("$." + DepartmentSalaryStats.UNASSIGNED + "[0].name", is("Tom White")));
+    }
+
+    @Test
+    public void testR2dbcUrlIsDerivedFromTheJdbcUrl() {
+        // Act & Assert
+        assertEquals("r2dbc:pool:h2:mem:///testdb?maxSize=5",
+                ReactiveDataConfig.r2dbcUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1", 5));
+        assertEquals("r2dbc:pool:postgresql://localhost:5432/payroll?maxSize=20",
+                ReactiveDataConfig.r2dbcUrl("jdbc:postgresql://localhost:5432/payroll?sslmode=disable", 20));
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class EmployeeRepositoryTests {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    public void testCalculateTotalPayrollMatchesInMemoryCalculation() {
+        // Arrange
+        List<Employee> employees = employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Manager", 120000.0, "Marketing", LocalDate.of(2019, 5, 10)),
+                new Employee(null, "Bob Johnson", "DEVELOPER", 75000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(null, "Alice Brown", "developer", 60000.0, "Engineering", LocalDate.of(2022, 6, 1)),
+                new Employee(null, "Tom White", "Intern", 36000.5, "Engineering", LocalDate.of(2024, 7, 1)),
+                new Employee(null, "Mary Green", "DevOps Engineer", 65000.0, "Operations", LocalDate.of(2018, 2, 20))
+        ));
+
+        // Act
+        double databasePayroll = employeeRepository.calculateTotalPayroll();
+        double inMemoryPayroll = new EmployeeService().calculatePayroll(employees);
+
+        // Assert
+        assertEquals(inMemoryPayroll, databasePayroll, 0.001);
+    }
+
+    @Test
+    public void testCalculateTotalPayrollWithNoEmployees() {
+        // Act
+        double payroll = employeeRepository.calculateTotalPayroll();
+
+        // Assert
+        assertEquals(0.0, payroll, 0.001);
+    }
+
+    @Test
+    public void testReportingQueries() {
+        // Arrange
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.now().minusMonths(2)),
+                new Employee(null, "Bob Johnson", "developer", 65000.0, "Engineering", LocalDate.now().minusMonths(8))
+        ));
+
+        // Act
+        double developerPayroll = employeeRepository.sumSalaryByRole("DEVELOPER");
+        DepartmentSalaryStats engineering = employeeRepository.findSalaryStatsByDepartment("Engineering").orElseThrow();
+        List<EmployeeSummary> topTwo = employeeRepository.findHighestPaid(PageRequest.of(0, 2));
+        List<EmployeeSummary> recentHires = employeeRepository.findHiredAfter(LocalDate.now().minusMonths(6));
+
+        // Assert
+        assertTrue(employeeRepository.existsByIdIsNotNull());
+        assertEquals(135000.0, developerPayroll, 0.001);
+        assertEquals(2, engineering.getEmployeeCount());
+        assertEquals(67500.0, engineering.getAverageSalary(), 0.001);
+        assertFalse(employeeRepository.findSalaryStatsByDepartment("Finance").isPresent());
+        assertEquals(2, topTwo.size());
+        assertEquals("John Doe", topTwo.get(0).getName());
+        assertEquals("Jane Smith", topTwo.get(1).getName());
+        assertEquals(1, recentHires.size());
+        assertEquals("Jane Smith", recentHires.get(0).getName());
+    }
+
+    @Test
+    public void testSalaryStatsForAllDepartments() {
+        // Arrange
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(null, "Bob Johnson", "Developer", 60000.0, "Engineering", LocalDate.of(2022, 6, 1)),
+                new Employee(null, "Tom White", "Intern", 30000.0, null, LocalDate.of(2024, 7, 1))
+        ));
+
+        // Act
+        List<DepartmentSalaryStats> summaries = employeeRepository.findSalaryStatsForAllDepartments();
+
+        // Assert
+        assertEquals(3, summaries.size());
+        DepartmentSalaryStats engineering = summaries.get(0);
+        assertEquals("Engineering", engineering.getDepartment());
+        assertEquals(2, engineering.getEmployeeCount());
+        assertEquals(65000.0, engineering.getAverageSalary(), 0.001);
+        assertEquals(60000.0, engineering.getMinSalary(), 0.001);
+        assertEquals(70000.0, engineering.getMaxSalary(), 0.001);
+        assertEquals(130000.0, engineering.getTotalSalary(), 0.001);
+        assertEquals("Marketing", summaries.get(1).getDepartment());
+        assertEquals(DepartmentSalaryStats.UNASSIGNED, summaries.get(2).getDepartment());
+    }
+}
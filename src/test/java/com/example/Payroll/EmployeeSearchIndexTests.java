@@ -0,0 +1,91 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeSearchIndexTests {
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new EmployeeSearchIndex();
+        index.rebuild(Stream.of(
+                new Employee(1L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(2L, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(3L, "Johnny Marks", "DevOps Engineer", 65000.0, "Operations", LocalDate.of(2022, 6, 1)),
+                new Employee(4L, "Mary Jones", "Developer", 60000.0, "Engineering", LocalDate.of(2023, 2, 1)),
+                new Employee(5L, "Tom White", "Intern", 30000.0, null, LocalDate.of(2024, 7, 1))
+        ));
+    }
+
+    @Test
+    public void testPrefixSearchIsRankedByFieldAndExactness() {
+        // Act
+        EmployeeSearchResult john = index.search("joh", 0, 10);
+        EmployeeSearchResult engineering = index.search("engineer", 0, 10);
+        EmployeeSearchResult mar = index.search("MAR", 0, 10);
+
+        // Assert
+        assertEquals(List.of("John Doe", "Johnny Marks"), names(john));
+        // the exact role word "engineer" ranks above the department prefix "engineering"
+        assertEquals(List.of("Johnny Marks", "Jane Smith", "Mary Jones"), names(engineering));
+        // name prefixes before the department prefix
+        assertEquals(List.of("Johnny Marks", "Mary Jones", "John Doe"), names(mar));
+        assertEquals(3, mar.getTotal());
+    }
+
+    @Test
+    public void testEveryQueryWordMustMatch() {
+        // Act
+        EmployeeSearchResult result = index.search("dev eng", 0, 10);
+
+        // Assert: both words match the role of Johnny Marks, only one of them the roles of the developers
+        assertEquals(List.of("Johnny Marks", "Jane Smith", "Mary Jones"), names(result));
+        assertTrue(index.search("dev intern", 0, 10).getEmployees().isEmpty());
+        assertTrue(index.search("  -- ", 0, 10).getEmployees().isEmpty());
+    }
+
+    @Test
+    public void testPagination() {
+        // Act
+        EmployeeSearchResult firstPage = index.search("e", 0, 2);
+        EmployeeSearchResult secondPage = index.search("e", 2, 2);
+
+        // Assert
+        assertEquals(firstPage.getTotal(), secondPage.getTotal());
+        assertEquals(2, firstPage.getEmployees().size());
+        assertTrue(names(secondPage).stream().noneMatch(names(firstPage)::contains));
+    }
+
+    @Test
+    public void testIndexFollowsChangeEvents() {
+        // Arrange
+        Employee jane = new Employee(2L, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15));
+        Employee renamed = new Employee(2L, "Jane Doe", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15));
+        List<String> cachedBefore = names(index.search("smith", 0, 10));
+
+        // Act
+        index.onEmployeeChanged(new EmployeeChangedEvent(jane, renamed));
+        index.onEmployeeChanged(new EmployeeChangedEvent(null,
+                new Employee(6L, "Smithers", "Analyst", 50000.0, "Finance", LocalDate.of(2024, 1, 1))));
+        index.onEmployeeChanged(new EmployeeChangedEvent(
+                new Employee(1L, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)), null));
+
+        // Assert
+        assertEquals(List.of("Jane Smith"), cachedBefore);
+        assertEquals(List.of("Smithers"), names(index.search("smith", 0, 10)));
+        assertEquals(List.of("Jane Doe"), names(index.search("doe", 0, 10)));
+        assertEquals(List.of("Jane Doe", "Mary Jones"), names(index.search("engineering", 0, 10)));
+    }
+
+    private static List<String> names(EmployeeSearchResult result) {
+        return result.getEmployees().stream().map(EmployeeSummary::getName).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EmployeeSearchTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private EmployeeSearchRepository employeeSearchRepository;
+
+    private Employee jane;
+
+    @BeforeEach
+    public void setup() {
+        // other tests in the shared context write through the repository, which the index does not follow
+        employeeRepository.deleteAll();
+        employeeSearchIndex.seed();
+        employeeService.createEmployee(new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+        jane = employeeService.createEmployee(
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)));
+        employeeService.createEmployee(
+                new Employee(null, "Johnny Marks", "DevOps Engineer", 65000.0, "Operations", LocalDate.of(2022, 6, 1)));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        employeeSearchIndex.seed();
+    }
+
+    @Test
+    public void testSearchFollowsServiceWrites() throws Exception {
+        // Act
+        employeeService.updateEmployee(jane.getId(),
+                new Employee(null, "Jane Johnson", "Developer", 70000.0, null, LocalDate.of(2021, 3, 15)));
+
+        // Assert
+        mockMvc.perform(get("/api/employees/search").param("q", "joh").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.employees[*].name", contains("Jane Johnson", "John Doe")));
+        mockMvc.perform(get("/api/employees/search").param("q", "smith"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees", empty()));
+        mockMvc.perform(get("/api/employees/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/search").param("q", "joh").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDatabaseFallbackFindsTheSameEmployees() {
+        // Act
+        EmployeeSearchResult fromIndex = employeeSearchIndex.search("dev eng", 0, 10);
+        EmployeeSearchResult fromDatabase = employeeSearchRepository.search(List.of("dev", "eng"), 0, 10);
+
+        // Assert
+        assertEquals(2, fromDatabase.getTotal());
+        assertEquals(names(fromIndex).stream().sorted().toList(), names(fromDatabase).stream().sorted().toList());
+        assertEquals(List.of("Jane Smith"), names(employeeSearchRepository.search(List.of("ja"), 0, 10)));
+        assertEquals(List.of("Johnny Marks"), names(employeeSearchRepository.search(List.of("dev", "eng"), 1, 10)));
+    }
+
+    @Test
+    public void testDatabaseFallbackKeepsMissingValues() {
+        // Arrange
+        employeeService.createEmployee(new Employee(null, "Nora Nosalary", "Intern", null, "Operations", LocalDate.of(2024, 1, 1)));
+        employeeService.createEmployee(new Employee(null, "Rob Norole", null, 50000.0, "Operations", LocalDate.of(2024, 1, 1)));
+
+        // Act
+        List<EmployeeSummary> employees = employeeSearchRepository.search(List.of("no"), 0, 10).getEmployees();
+
+        // Assert
+        assertEquals(List.of("Nora Nosalary", "Rob Norole"), employees.stream().map(EmployeeSummary::getName).toList());
+        assertNull(employees.get(0).getSalary());
+        assertEquals(50000.0, employees.get(1).getSalary(), 0.001);
+    }
+
+    private static List<String> names(EmployeeSearchResult result) {
+        return result.getEmployees().stream().map(EmployeeSummary::getName).toList();
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -21,6 +22,18 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private PayrollAggregates payrollAggregates;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private SalaryHistoryRepository salaryHistoryRepository;
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -44,11 +57,8 @@ public class EmployeeServiceTests {
     public void testCalculateAverageSalaryByDepartment() {
         // Arrange
         String department = "Marketing";
-        List<Employee> employeesInDepartment = Arrays.asList(
-                new Employee(3L, "John Doe", "Marketing Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
-                new Employee(4L, "Jane Smith", "Marketing Coordinator", 60000.0, "Marketing", LocalDate.of(2022, 9, 15))
-        );
-        when(employeeRepository.findByDepartmentName(department)).thenReturn(employeesInDepartment);
+        when(employeeRepository.findSalaryStatsByDepartment(department))
+                .thenReturn(Optional.of(new DepartmentSalaryStats(department, 2, 70000.0)));
 
         // Act
         double averageSalary = employeeService.calculateAverageSalaryByDepartment(department);
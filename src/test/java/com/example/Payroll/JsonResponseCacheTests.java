@@ -0,0 +1,104 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JsonResponseCacheTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonResponseCache jsonResponseCache;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        jsonResponseCache.clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        jsonResponseCache.clear();
+    }
+
+    @Test
+    public void testBodyIsReusedUntilAServiceWrite() throws Exception {
+        // Arrange
+        Employee john = employeeRepository.save(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+        String first = mockMvc.perform(get("/api/employees/top-salaries/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("John Doe"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Act: a write that bypasses EmployeeService is not seen, one through it is
+        employeeRepository.save(new Employee(null, "Jane Smith", "Manager", 120000.0, "Marketing", LocalDate.of(2019, 5, 10)));
+        String cached = mockMvc.perform(get("/api/employees/top-salaries/1"))
+                .andReturn().getResponse().getContentAsString();
+        employeeService.deleteEmployee(john.getId());
+
+        // Assert
+        assertEquals(first, cached);
+        mockMvc.perform(get("/api/employees/top-salaries/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Jane Smith"));
+    }
+
+    @Test
+    public void testGzipVariantIsServedToClientsThatAcceptIt() throws Exception {
+        // Arrange
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(new Employee(null, "Employee " + i, "Developer", 60000.0 + i, "Engineering", LocalDate.of(2021, 1, 1)));
+        }
+        employeeRepository.saveAll(employees);
+
+        // Act
+        byte[] plain = mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] compressed = mockMvc.perform(get("/api/employees").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] refused = mockMvc.perform(get("/api/employees").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertNotEquals(plain.length, compressed.length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(new String(plain), new String(gzip.readAllBytes()));
+        }
+        assertEquals(new String(plain), new String(refused));
+    }
+}
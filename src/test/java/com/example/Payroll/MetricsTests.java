@@ -0,0 +1,60 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))
+        ));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testPrometheusEndpointExposesRequestServiceRepositoryAndPoolMetrics() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/employees\""),
+                        containsString("payroll_service_seconds_bucket{class=\"com.example.Payroll.EmployeeService\","
+                                + "exception=\"none\",method=\"getAllEmployees\""),
+                        containsString("payroll_repository_rows_total{method=\"findAll\",repository=\"EmployeeRepository\"} 2.0"),
+                        containsString("hikaricp_connections_active"))));
+    }
+}
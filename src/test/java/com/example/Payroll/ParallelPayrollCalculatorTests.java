@@ -0,0 +1,56 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelPayrollCalculatorTests {
+    private ParallelPayrollCalculator calculator;
+
+    @BeforeEach
+    public void setUp() {
+        calculator = new ParallelPayrollCalculator();
+        ReflectionTestUtils.setField(calculator, "chunkSize", 1_000);
+        ReflectionTestUtils.setField(calculator, "maxParallelism", 8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        calculator.shutdown();
+    }
+
+    @Test
+    public void testTotalIsIdenticalForEveryParallelism() {
+        // Arrange
+        String[] roles = {"Manager", "developer", "Intern", "Analyst"};
+        SplittableRandom random = new SplittableRandom(11);
+        PayrollSnapshot snapshot = new PayrollSnapshot();
+        long expectedCents = 0;
+        for (int i = 0; i < 50_000; i++) {
+            String role = roles[random.nextInt(roles.length)];
+            double salary = 20_000 + random.nextDouble() * 130_000;
+            snapshot.add(role, salary);
+            expectedCents += Math.round(PayrollRules.calculatePayroll(role, salary) * 100);
+        }
+
+        // Act & Assert
+        for (int parallelism = 1; parallelism <= 8; parallelism++) {
+            assertEquals(expectedCents, calculator.totalPayrollCents(snapshot, parallelism));
+        }
+    }
+
+    @Test
+    public void testParallelismOutOfRange() {
+        PayrollSnapshot snapshot = new PayrollSnapshot();
+
+        assertThrows(InvalidDataException.class, () -> calculator.totalPayrollCents(snapshot, 0));
+        assertThrows(InvalidDataException.class, () -> calculator.totalPayrollCents(snapshot, 9));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+public class PayrollAggregatesTests {
+    @Autowired
+    private EmployeeService employeeService;
+
+    @SpyBean
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollAggregates payrollAggregates;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        payrollAggregates.reconcile();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+        payrollAggregates.reconcile();
+    }
+
+    @Test
+    public void testAggregatesFollowWritePaths() {
+        // Arrange
+        Employee john = employeeService.createEmployee(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+        Employee jane = employeeService.createEmployee(
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)));
+        employeeService.createEmployee(
+                new Employee(null, "Bob Johnson", "developer", 65000.0, "Engineering", LocalDate.of(2022, 6, 1)));
+
+        // Act
+        employeeService.updateEmployee(jane.getId(),
+                new Employee(jane.getId(), "Jane Smith", "Manager", 100000.0, "Engineering", LocalDate.of(2021, 3, 15)));
+        employeeService.deleteEmployee(john.getId());
+
+        // Assert
+        assertTrue(payrollAggregates.isReady());
+        assertEquals(employeeRepository.calculateTotalPayroll(), employeeService.calculatePayroll(), 0.001);
+        assertEquals(82500.0, employeeService.calculateAverageSalaryByDepartment("Engineering"), 0.001);
+        assertEquals(100000.0, employeeService.calculatePayrollByJobTitle("MANAGER"), 0.001);
+        assertEquals(65000.0, employeeService.calculatePayrollByJobTitle("Developer"), 0.001);
+        assertFalse(payrollAggregates.reconcile().isDriftDetected());
+    }
+
+    @Test
+    public void testReconcileDetectsAndRepairsDrift() {
+        // Arrange
+        employeeService.createEmployee(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+        employeeRepository.save(new Employee(null, "Jane Smith", "Intern", 30000.0, "Marketing", LocalDate.of(2024, 1, 1)));
+
+        // Act
+        PayrollAggregates.ReconciliationReport report = payrollAggregates.reconcile();
+
+        // Assert
+        assertTrue(report.isDriftDetected());
+        assertEquals(List.of("Marketing"), report.getDepartments());
+        assertEquals(List.of("intern"), report.getRoles());
+        assertEquals(55000.0, employeeService.calculateAverageSalaryByDepartment("Marketing"), 0.001);
+        assertFalse(payrollAggregates.reconcile().isDriftDetected());
+    }
+
+    @Test
+    public void testChangeSeenByTheReloadIsNotReplayed() {
+        // Arrange: a raise committed before the reload, whose event is only delivered while the reload runs
+        Employee john = employeeService.createEmployee(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)));
+        Employee before = employeeRepository.findById(john.getId()).orElseThrow();
+        Employee raised = employeeRepository.findById(john.getId()).orElseThrow();
+        raised.setSalary(90000.0);
+        raised = employeeRepository.save(raised);
+        EmployeeChangedEvent lateEvent = new EmployeeChangedEvent(before, raised);
+        List<PayrollGroupTotals> committedTotals = employeeRepository.calculatePayrollTotalsByDepartmentAndRole();
+        doAnswer(invocation -> {
+            payrollAggregates.onEmployeeChanged(lateEvent);
+            return committedTotals;
+        }).when(employeeRepository).calculatePayrollTotalsByDepartmentAndRole();
+
+        // Act
+        PayrollAggregates.ReconciliationReport report = payrollAggregates.reconcile();
+
+        // Assert
+        reset(employeeRepository);
+        assertFalse(report.isDriftDetected());
+        assertEquals(employeeRepository.calculateTotalPayroll(), employeeService.calculatePayroll(), 0.001);
+        assertFalse(payrollAggregates.reconcile().isDriftDetected());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PayrollKernelTests {
+
+    @Test
+    public void testRoleCodesAreCaseInsensitive() {
+        assertEquals(PayrollSnapshot.ROLE_MANAGER, PayrollSnapshot.roleCode("MANAGER"));
+        assertEquals(PayrollSnapshot.ROLE_DEVELOPER, PayrollSnapshot.roleCode("Developer"));
+        assertEquals(PayrollSnapshot.ROLE_INTERN, PayrollSnapshot.roleCode("intern"));
+        assertEquals(PayrollSnapshot.ROLE_OTHER, PayrollSnapshot.roleCode("DevOps Engineer"));
+        assertEquals(PayrollSnapshot.ROLE_OTHER, PayrollSnapshot.roleCode(null));
+    }
+
+    @Test
+    public void testTotalPayrollMatchesPayrollRulesExactly() {
+        // Arrange
+        String[] roles = {"Manager", "developer", "Intern", "Analyst"};
+        SplittableRandom random = new SplittableRandom(7);
+        PayrollSnapshot snapshot = new PayrollSnapshot(16);
+        double expected = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String role = roles[random.nextInt(roles.length)];
+            double salary = 20_000 + random.nextDouble() * 130_000;
+            snapshot.add(role, salary);
+            expected += PayrollRules.calculatePayroll(role, salary);
+        }
+
+        // Act
+        double total = PayrollKernel.totalPayroll(snapshot);
+
+        // Assert
+        assertEquals(10_000, snapshot.size());
+        assertEquals(expected, total, 0.0);
+    }
+
+    @Test
+    public void testBonusThresholdIsExclusive() {
+        // Arrange
+        PayrollSnapshot snapshot = new PayrollSnapshot();
+        snapshot.add("Manager", 96000.0);
+        snapshot.add("Manager", 96000.5);
+
+        // Act
+        double total = PayrollKernel.totalPayroll(snapshot);
+
+        // Assert
+        assertEquals(96000.0 * 1.05 + 96000.5 * 1.1, total, 0.001);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.Payroll;
+
+import com.example.Payroll.Exceptions.InvalidDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "payroll.runs.chunk-size=2")
+public class PayrollRunServiceTests {
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayslipJdbcRepository payslipJdbcRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    public void setup() {
+        employees = employeeRepository.saveAll(Arrays.asList(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Manager", 120000.0, "Marketing", LocalDate.of(2019, 5, 10)),
+                new Employee(null, "Bob Johnson", "Developer", 75000.0, "Engineering", LocalDate.of(2021, 3, 15)),
+                new Employee(null, "Alice Brown", "Intern", 30000.0, "Engineering", LocalDate.of(2022, 6, 1)),
+                new Employee(null, "Mary Green", "DevOps Engineer", 65000.0, "Operations", LocalDate.of(2018, 2, 20))
+        ));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        payrollRunRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testRunProcessesEveryEmployeeInChunks() {
+        // Act
+        Long runId = payrollRunService.startRun().getId();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> payrollRunService.getRun(runId).getStatus() == PayrollRunStatus.COMPLETED);
+
+        // Assert
+        PayrollRun run = payrollRunService.getRun(runId);
+        assertEquals(5, run.getProcessedEmployees());
+        assertEquals(100.0, run.getProgress(), 0.001);
+        assertEquals(employeeRepository.calculateTotalPayroll(), run.getTotalPayroll(), 0.001);
+        List<PayslipLine> firstPage = payrollRunService.getPayslips(runId, 0, 3);
+        List<PayslipLine> secondPage = payrollRunService.getPayslips(runId, firstPage.get(2).getEmployeeId(), 3);
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(80000.0, firstPage.get(0).getBaseSalary(), 0.001);
+        assertEquals(120000.0 * 0.1, firstPage.get(1).getBonus(), 0.001);
+    }
+
+    @Test
+    public void testInterruptedRunResumesAfterLastCommittedChunk() {
+        // Arrange: a run that committed its first chunk before the process died
+        PayrollRun run = payrollRunRepository.save(new PayrollRun(employees.size()));
+        run.started();
+        List<PayslipLine> committed = new ArrayList<>();
+        for (Employee employee : employees.subList(0, 2)) {
+            double baseSalary = PayrollRules.getBaseSalaryForRole(employee.getRole());
+            committed.add(new PayslipLine(run.getId(), employee.getId(), employee.getName(), employee.getRole(),
+                    employee.getSalary(), baseSalary, PayrollRules.calculateBonus(employee.getSalary(), baseSalary)));
+        }
+        payslipJdbcRepository.insertBatch(committed);
+        run.chunkProcessed(2, employees.get(1).getId(),
+                committed.stream().mapToDouble(PayslipLine::getSalary).sum(),
+                committed.stream().mapToDouble(PayslipLine::getBonus).sum());
+        payrollRunRepository.save(run);
+
+        // Act
+        payrollRunService.execute(run.getId());
+
+        // Assert
+        PayrollRun resumed = payrollRunService.getRun(run.getId());
+        assertEquals(PayrollRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(5, resumed.getProcessedEmployees());
+        assertEquals(5, payrollRunService.getPayslips(run.getId(), 0, 10).size());
+        assertEquals(employeeRepository.calculateTotalPayroll(), resumed.getTotalPayroll(), 0.001);
+    }
+
+    @Test
+    public void testFailedRunIsResumedOnlyOnce() {
+        // Arrange
+        PayrollRun run = new PayrollRun(employees.size());
+        run.failed("Payroll run queue is full");
+        Long runId = payrollRunRepository.save(run).getId();
+
+        // Act
+        payrollRunService.resumeRun(runId);
+
+        // Assert
+        assertThrows(InvalidDataException.class, () -> payrollRunService.resumeRun(runId));
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> payrollRunService.getRun(runId).getStatus() == PayrollRunStatus.COMPLETED);
+        assertEquals(5, payrollRunService.getPayslips(runId, 0, 10).size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// PostgreSQL counterpart of EmployeeIndexUsageTests, run against the real migrations; skipped without Docker.
+// Sequential scans are disabled for the session so the plans show whether an index can serve each query.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.Payroll.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresIndexUsageTests {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        employeeRepository.saveAllAndFlush(List.of(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1)),
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))
+        ));
+        jdbcTemplate.execute("ANALYZE employees");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    public void testFindByDepartmentNameUsesDepartmentIndex() {
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findByDepartmentName("Engineering"));
+        assertUsesIndex(sql, "idx_employees_department_salary", "Engineering");
+    }
+
+    @Test
+    public void testSalaryStatsByDepartmentUsesDepartmentIndex() {
+        String sql = CapturingStatementInspector.capture(
+                () -> employeeRepository.findSalaryStatsByDepartment("Engineering"));
+        assertUsesIndex(sql, "idx_employees_department_salary", "Engineering");
+    }
+
+    @Test
+    public void testSumSalaryByRoleUsesLowerRoleIndex() {
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.sumSalaryByRole("DEVELOPER"));
+        assertUsesIndex(sql, "idx_employees_role_lower", "DEVELOPER");
+    }
+
+    @Test
+    public void testHighestPaidUsesSalaryIndex() {
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findHighestPaid(PageRequest.of(0, 5)));
+        assertUsesIndex(sql, "idx_employees_salary_desc", 5);
+    }
+
+    @Test
+    public void testHiredAfterUsesHiringDateIndex() {
+        LocalDate cutoff = LocalDate.of(2020, 6, 1);
+        String sql = CapturingStatementInspector.capture(() -> employeeRepository.findHiredAfter(cutoff));
+        assertUsesIndex(sql, "idx_employees_hiring_date", cutoff);
+    }
+
+    @Test
+    public void testSearchFallbackUsesFullTextIndex() {
+        assertUsesIndex("SELECT id, name FROM employees WHERE " + EmployeeSearchRepository.SEARCH_VECTOR
+                + " @@ to_tsquery('simple', 'jan:* & dev:*')", "idx_employees_search");
+    }
+
+    @Test
+    public void testPayrollAsOfUsesSalaryHistoryRangeIndex() {
+        jdbcTemplate.execute("ANALYZE salary_history");
+        LocalDate date = LocalDate.of(2021, 1, 1);
+        assertUsesIndex(SalaryHistoryRepository.PAYROLL_AS_OF, "idx_salary_history_as_of", date, date);
+    }
+
+    private void assertUsesIndex(String sql, String index, Object... args) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.Payroll;
+
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A second in-memory H2 database stands in for the replica; "replication" is done by writing to it directly
+@SpringBootTest(properties = {"payroll.datasource.replica.enabled=true",
+        "payroll.datasource.replica.url=" + ReplicaRoutingTests.REPLICA_URL, "payroll.datasource.replica.username=sa",
+        "payroll.datasource.replica.heartbeat-interval=PT1H", "payroll.datasource.replica.max-lag=5s",
+        "payroll.datasource.replica.read-your-writes-window=5s"})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTests {
+    static final String REPLICA_URL = "jdbc:h2:mem:payroll_replica;DB_CLOSE_DELAY=-1";
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeAll
+    public static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        replica.update("DELETE FROM employees");
+        replica.update("INSERT INTO employees (name, role, salary, department, hiring_date, version) "
+                + "VALUES ('Rita Replica', 'Developer', 50000, 'Engineering', ?, 0)", Date.valueOf(LocalDate.now().minusMonths(1)));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testReportsAreReadFromTheReplica() throws Exception {
+        // Arrange
+        replicaLagging(0);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/hired-in-last/12"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Rita Replica")));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Integer.class));
+    }
+
+    @Test
+    public void testLaggingReplicaIsBypassed() throws Exception {
+        // Act
+        replicaLagging(10_000);
+
+        // Assert
+        assertFalse(routingDataSource.isReplicaAvailable());
+        mockMvc.perform(get("/api/employees/hired-in-last/12"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    public void testWriterReadsItsOwnWritesFromThePrimary() throws Exception {
+        // Arrange
+        replicaLagging(0);
+        String body = "{\"name\":\"Paul Primary\",\"role\":\"Developer\",\"salary\":60000.0,\"department\":\"Engineering\","
+                + "\"hiringDate\":\"" + LocalDate.now().minusDays(1) + "\"}";
+
+        // Act
+        Cookie sticky = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesInterceptor.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+
+        // Assert: only the writer's requests read from the primary
+        mockMvc.perform(get("/api/employees/hired-in-last/12").cookie(sticky))
+                .andExpect(jsonPath("$[0].name", is("Paul Primary")));
+        mockMvc.perform(get("/api/employees/hired-in-last/12"))
+                .andExpect(jsonPath("$[0].name", is("Rita Replica")));
+    }
+
+    @Test
+    public void testCachedResponsesAreLoadedFromThePrimary() throws Exception {
+        // Arrange
+        replicaLagging(0);
+        String body = "{\"name\":\"Paul Primary\",\"role\":\"Developer\",\"salary\":60000.0,\"department\":\"Engineering\","
+                + "\"hiringDate\":\"" + LocalDate.now().minusDays(1) + "\"}";
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM employees", Long.class);
+
+        // Act & Assert: without the cookie, the cached list and employee still come from the primary
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Paul Primary")));
+        mockMvc.perform(get("/api/employees/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Paul Primary")));
+    }
+
+    @Test
+    public void testStreamedExportOfTheWriterReadsFromThePrimary() throws Exception {
+        // Arrange
+        replicaLagging(0);
+        String body = "{\"name\":\"Paul Primary\",\"role\":\"Developer\",\"salary\":60000.0,\"department\":\"Engineering\","
+                + "\"hiringDate\":\"" + LocalDate.now().minusDays(1) + "\"}";
+        Cookie sticky = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees").cookie(sticky).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Paul Primary")));
+    }
+
+    @Test
+    public void testReplicaReportsAreNotRevalidatedUnderTheCurrentVersion() throws Exception {
+        // Arrange: the write has not reached the replica yet, whose lag is still within the tolerance
+        replicaLagging(0);
+        String body = "{\"name\":\"Paul Primary\",\"role\":\"Developer\",\"salary\":60000.0,\"department\":\"Engineering\","
+                + "\"hiringDate\":\"" + LocalDate.now().minusDays(1) + "\"}";
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        // Act
+        mockMvc.perform(get("/api/employees/grouped-by-department"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.Engineering[0].name", is("Rita Replica")));
+
+        // Assert: revalidating with the current version still reads the data, and once the replica is bypassed
+        // the primary's report carries the version
+        mockMvc.perform(get("/api/employees/grouped-by-department").header(HttpHeaders.IF_NONE_MATCH, dataVersion.getETag()))
+                .andExpect(status().isOk());
+        replicaLagging(10_000);
+        String etag = mockMvc.perform(get("/api/employees/grouped-by-department"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Engineering[0].name", is("Paul Primary")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(dataVersion.getETag(), etag);
+        mockMvc.perform(get("/api/employees/grouped-by-department").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    // Writes the heartbeat the replica would have replicated lagMillis ago and measures the lag
+    private void replicaLagging(long lagMillis) {
+        replica.update(ReplicaLagMonitor.WRITE_HEARTBEAT, System.currentTimeMillis() - lagMillis);
+        replicaLagMonitor.checkLag();
+    }
+}
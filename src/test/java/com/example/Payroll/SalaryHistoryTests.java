@@ -0,0 +1,150 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SalaryHistoryTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryHistoryRepository salaryHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM salary_history");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        setup();
+    }
+
+    @Test
+    public void testWritePathsRecordSalaryHistory() throws Exception {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Employee jane = employeeService.createEmployee(
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15)));
+
+        // Act
+        employeeService.updateEmployee(jane.getId(),
+                new Employee(null, "Jane Smith", "Developer", 80000.0, null, LocalDate.of(2021, 3, 15)));
+        employeeService.updateEmployee(jane.getId(),
+                new Employee(null, "Jane Doe", "Developer", 80000.0, null, LocalDate.of(2021, 3, 15)));
+        employeeBulkService.raiseSalaries("Engineering", null, 10.0, false);
+        employeeImportService.importCsv(new ByteArrayInputStream(
+                "name,role,salary,department,hiringDate\nBob Johnson,Intern,30000,Operations,2024-07-01\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+        Long bobId = employeeRepository.findByDepartmentName("Operations").get(0).getId();
+        employeeService.deleteEmployee(bobId);
+
+        // Assert
+        // the raise superseded the update of the same day; the name change did not touch the history
+        mockMvc.perform(get("/api/employees/{id}/history", jane.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].salary", closeTo(70000.0, 0.001)))
+                .andExpect(jsonPath("$[0].effectiveFrom", is("2021-03-15")))
+                .andExpect(jsonPath("$[0].effectiveTo", is(today.toString())))
+                .andExpect(jsonPath("$[1].salary", closeTo(88000.0, 0.001)))
+                .andExpect(jsonPath("$[1].effectiveFrom", is(today.toString())))
+                .andExpect(jsonPath("$[1].effectiveTo", nullValue()));
+        List<SalaryHistoryEntry> bob = salaryHistoryRepository.findByEmployeeId(bobId);
+        assertEquals(1, bob.size());
+        assertEquals(LocalDate.of(2024, 7, 1), bob.get(0).getEffectiveFrom());
+        assertEquals(today, bob.get(0).getEffectiveTo());
+        mockMvc.perform(get("/api/employees/{id}/history", bobId + 1000))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testPayrollAsOfAndCompactionOfClosedPeriod() throws Exception {
+        // Arrange
+        insertHistory(1, "Developer", 60000.0, "2023-01-01", "2023-07-01");
+        insertHistory(1, "Developer", 66000.0, "2023-07-01", "2023-10-01");
+        insertHistory(1, "Developer", 72000.0, "2023-10-01", null);
+        insertHistory(2, "Manager", 90000.0, "2022-01-01", "2023-03-01");
+        insertHistory(3, "Intern", 30000.0, "2023-05-01", "2023-08-01");
+        insertHistory(3, "Intern", 32000.0, "2023-08-01", "2023-11-01");
+        insertHistory(3, "Intern", 30000.0, "2023-11-01", null);
+        insertHistory(4, "Analyst", 50000.0, "2020-01-01", "2023-04-01");
+        insertHistory(4, "Analyst", 55000.0, "2023-04-01", "2023-09-01");
+        insertHistory(4, "Analyst", 50000.0, "2023-09-01", null);
+        double midPeriod = PayrollRules.calculatePayroll("developer", 66000.0)
+                + PayrollRules.calculatePayroll("intern", 32000.0) + PayrollRules.calculatePayroll("analyst", 55000.0);
+        double afterPeriod = PayrollRules.calculatePayroll("developer", 72000.0)
+                + PayrollRules.calculatePayroll("intern", 30000.0) + PayrollRules.calculatePayroll("analyst", 50000.0);
+
+        // Act
+        double midPeriodBefore = employeeService.calculatePayroll(LocalDate.of(2023, 8, 15));
+        mockMvc.perform(post("/api/employees/history/compact").param("from", "2023-01-01").param("to", "2023-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removedRows", is(6)))
+                .andExpect(jsonPath("$.adjustedRows", is(6)));
+
+        // Assert
+        assertEquals(midPeriod, midPeriodBefore, 0.001);
+        assertEquals(PayrollRules.calculatePayroll("manager", 90000.0) + PayrollRules.calculatePayroll("analyst", 50000.0),
+                employeeService.calculatePayroll(LocalDate.of(2022, 12, 31)), 0.001);
+        mockMvc.perform(get("/api/employees/payroll").param("asOf", "2024-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", closeTo(afterPeriod, 0.001)));
+        // inside the compacted period every employee is reported in its state at the period's end
+        assertEquals(afterPeriod, employeeService.calculatePayroll(LocalDate.of(2023, 8, 15)), 0.001);
+        List<SalaryHistoryEntry> analyst = salaryHistoryRepository.findByEmployeeId(4L);
+        assertEquals(1, analyst.size());
+        assertEquals(LocalDate.of(2020, 1, 1), analyst.get(0).getEffectiveFrom());
+        assertNull(analyst.get(0).getEffectiveTo());
+        mockMvc.perform(post("/api/employees/history/compact").param("from", "2024-01-01")
+                        .param("to", LocalDate.now().toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void insertHistory(long employeeId, String role, double salary, String from, String to) {
+        jdbcTemplate.update("INSERT INTO salary_history (employee_id, role, salary, effective_from, effective_to) "
+                        + "VALUES (?, ?, ?, ?, ?)", employeeId, role, salary, Date.valueOf(from),
+                Date.valueOf(to != null ? LocalDate.parse(to) : SalaryHistoryRepository.OPEN_END));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.Payroll;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"payroll.tenancy.mode=schema", "payroll.tenancy.tenants=acme,globex",
+        "payroll.tenancy.max-connections-per-tenant=2"})
+@AutoConfigureMockMvc
+public class TenancyTests {
+    private static final String TENANT_HEADER = "X-Tenant-ID";
+    private static final String EMPLOYEE_BODY = "{\"name\":\"Ada Acme\",\"role\":\"Developer\",\"salary\":90000.0,"
+            + "\"department\":\"Engineering\",\"hiringDate\":\"2020-01-01\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    public void cleanup() {
+        tenantRegistry.forEachTenant(employeeRepository::deleteAll);
+    }
+
+    @Test
+    public void testEmployeesAreVisibleToTheirTenantOnly() throws Exception {
+        // Arrange
+        String created = mockMvc.perform(post("/api/employees").header(TENANT_HEADER, "acme")
+                        .contentType(MediaType.APPLICATION_JSON).content(EMPLOYEE_BODY))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(created.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        // Act & Assert: the cached employee of acme is not served to the others
+        mockMvc.perform(get("/api/employees/" + id).header(TENANT_HEADER, "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Ada Acme")));
+        mockMvc.perform(get("/api/employees/" + id).header(TENANT_HEADER, "globex"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/" + id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "acme"))
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "globex"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        long acmeEmployees = TenantContext.callAs("acme", employeeRepository::count);
+        assertEquals(1L, acmeEmployees);
+        assertEquals(0L, employeeRepository.count());
+    }
+
+    @Test
+    public void testAggregatesAndETagsAreKeptPerTenant() throws Exception {
+        // Arrange
+        String globexETag = mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "globex"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act
+        mockMvc.perform(post("/api/employees").header(TENANT_HEADER, "acme")
+                        .contentType(MediaType.APPLICATION_JSON).content(EMPLOYEE_BODY))
+                .andExpect(status().isCreated());
+
+        // Assert
+        double acmePayroll = Double.parseDouble(mockMvc.perform(get("/api/employees/payroll").header(TENANT_HEADER, "acme"))
+                .andReturn().getResponse().getContentAsString());
+        assertTrue(acmePayroll > 0);
+        mockMvc.perform(get("/api/employees/payroll").header(TENANT_HEADER, "globex"))
+                .andExpect(content().string("0.0"));
+        mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "globex").header("If-None-Match", globexETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "acme").header("If-None-Match", globexETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(is(globexETag))));
+    }
+
+    @Test
+    public void testStreamedExportRunsForTheRequestTenant() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/employees").header(TENANT_HEADER, "acme")
+                        .contentType(MediaType.APPLICATION_JSON).content(EMPLOYEE_BODY))
+                .andExpect(status().isCreated());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "acme")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Ada Acme")));
+    }
+
+    @Test
+    public void testUnknownTenantIsRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").header(TENANT_HEADER, "initech"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Tenant not found: initech")));
+        mockMvc.perform(get("/api/v2/employees").header(TENANT_HEADER, "acme"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testEveryTenantIncludingTheDefaultHasABoundedShareOfThePool() {
+        // Arrange
+        TenantRoutingDataSource routing = assertInstanceOf(TenantRoutingDataSource.class, dataSource);
+
+        // Act & Assert
+        for (String tenantId : tenantRegistry.getTenantIds()) {
+            TenantSchemaDataSource tenantDataSource = assertInstanceOf(TenantSchemaDataSource.class,
+                    routing.getTenantDataSource(tenantId));
+            ConnectionLimitingDataSource limited = assertInstanceOf(ConnectionLimitingDataSource.class,
+                    tenantDataSource.getTargetDataSource());
+            assertEquals(2, limited.getAvailablePermits());
+        }
+    }
+
+    @Test
+    public void testTenantLimitMustStayBelowThePoolSize() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("payroll.tenancy.mode", "schema")
+                .withProperty("payroll.tenancy.tenants", "acme")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "10")
+                .withProperty("payroll.tenancy.max-connections-per-tenant", "10");
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> TenancyConfig
+                .tenantRoutingDataSourcePostProcessor(environment)
+                .postProcessAfterInitialization(new HikariDataSource(), "dataSource"));
+        assertTrue(ex.getMessage().contains("max-connections-per-tenant"), ex.getMessage());
+    }
+}
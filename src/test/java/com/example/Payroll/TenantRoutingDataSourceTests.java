@@ -0,0 +1,73 @@
+package com.example.Payroll;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"payroll.tenancy.mode=database", "payroll.tenancy.tenants=acme",
+        "payroll.tenancy.datasources.acme.url=jdbc:h2:mem:tenant_acme;DB_CLOSE_DELAY=-1",
+        "payroll.tenancy.datasources.acme.username=sa", "payroll.tenancy.pool.maximum-size=3"})
+public class TenantRoutingDataSourceTests {
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    @AfterEach
+    public void cleanup() {
+        tenantRegistry.forEachTenant(employeeRepository::deleteAll);
+    }
+
+    @Test
+    public void testEveryTenantHasItsOwnBoundedPool() {
+        // Arrange
+        TenantRoutingDataSource routing = assertInstanceOf(TenantRoutingDataSource.class, dataSource);
+
+        // Act
+        HikariDataSource acmePool = assertInstanceOf(HikariDataSource.class, routing.getTenantDataSource("acme"));
+
+        // Assert
+        assertEquals(3, acmePool.getMaximumPoolSize());
+        assertEquals("tenant-acme", acmePool.getPoolName());
+    }
+
+    @Test
+    public void testWritesGoToTheDatabaseOfTheCurrentTenant() {
+        // Arrange
+        TenantRoutingDataSource routing = (TenantRoutingDataSource) dataSource;
+
+        // Act
+        TenantContext.runAs("acme", () -> employeeService.createEmployee(
+                new Employee(null, "Ada Acme", "Developer", 90000.0, "Engineering", LocalDate.of(2020, 1, 1))));
+
+        // Assert
+        long acmeEmployees = TenantContext.callAs("acme", employeeRepository::count);
+        assertEquals(1L, acmeEmployees);
+        assertEquals(0L, employeeRepository.count());
+        assertThrows(IllegalStateException.class, () -> TenantContext.runAs("initech", () -> {
+            try (Connection connection = routing.getConnection()) {
+                connection.isValid(1);
+            } catch (SQLException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.Payroll;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The scheduled flush is pushed out of the way so each test decides when the buffer is written
+@SpringBootTest(properties = {"payroll.write-behind.enabled=true", "payroll.write-behind.max-pending=3",
+        "payroll.write-behind.flush-interval=PT1H"})
+@AutoConfigureMockMvc
+public class WriteBehindBufferTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private WriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long johnId;
+    private Long janeId;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+        johnId = employeeRepository.save(
+                new Employee(null, "John Doe", "Manager", 80000.0, "Marketing", LocalDate.of(2020, 1, 1))).getId();
+        janeId = employeeRepository.save(
+                new Employee(null, "Jane Smith", "Developer", 70000.0, "Engineering", LocalDate.of(2021, 3, 15))).getId();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        writeBehindBuffer.flush();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedAndVisibleBeforeTheFlush() {
+        // Act
+        employeeService.enqueueUpdate(johnId, new Employee(null, "John Doe", "Manager", 85000.0, null, LocalDate.of(2020, 1, 1)));
+        employeeService.enqueueUpdate(johnId, new Employee(null, "John Doe", "Manager", 90000.0, null, LocalDate.of(2020, 1, 1)));
+
+        // Assert
+        assertEquals(90000.0, employeeService.getEmployeeById(johnId).orElseThrow().getSalary(), 0.001);
+        assertEquals(80000.0, employeeRepository.findById(johnId).orElseThrow().getSalary(), 0.001);
+        assertEquals(1, writeBehindBuffer.flush());
+        Employee stored = employeeRepository.findById(johnId).orElseThrow();
+        assertEquals(90000.0, stored.getSalary(), 0.001);
+        assertEquals("Marketing", stored.getDepartment());
+        assertEquals(1L, stored.getVersion());
+        assertEquals(90000.0, employeeService.getEmployeeById(johnId).orElseThrow().getSalary(), 0.001);
+    }
+
+    @Test
+    public void testReportsOverlayPendingUpdates() {
+        // Arrange
+        LocalDate recently = LocalDate.now().minusMonths(1);
+
+        // Act
+        employeeService.enqueueUpdate(janeId, new Employee(null, "Jane Smith", "Developer", 95000.0, null, recently));
+
+        // Assert: Jane overtakes John and moves into the recent hires before anything is written
+        List<EmployeeSummary> top = employeeService.getTopNHighestPaidEmployees(1);
+        assertEquals(janeId, top.get(0).getId());
+        assertEquals(95000.0, top.get(0).getSalary(), 0.001);
+        List<EmployeeSummary> hired = employeeService.findEmployeesHiredInLastNMonths(6);
+        assertEquals(1, hired.size());
+        assertEquals(recently, hired.get(0).getHiringDate());
+        assertEquals(95000.0, employeeService.findByDepartmentName("Engineering").get(0).getSalary(), 0.001);
+        assertEquals(95000.0, employeeService.getEmployeesGroupedByDepartment().get("Engineering").get(0).getSalary(), 0.001);
+        try (Stream<Employee> employees = employeeService.streamEmployeesGroupedByDepartment(0, null)) {
+            assertEquals(95000.0, employees.filter(employee -> employee.getId().equals(janeId)).findFirst()
+                    .orElseThrow().getSalary(), 0.001);
+        }
+        assertEquals(70000.0, employeeRepository.findById(janeId).orElseThrow().getSalary(), 0.001);
+    }
+
+    @Test
+    public void testSizeThresholdFlushesTheBuffer() {
+        // Arrange
+        Long bobId = employeeRepository.save(
+                new Employee(null, "Bob Johnson", "Developer", 65000.0, "Engineering", LocalDate.of(2022, 6, 1))).getId();
+
+        // Act
+        for (Long id : new Long[]{johnId, janeId, bobId}) {
+            employeeService.enqueueUpdate(id, new Employee(null, "Renamed", "Developer", 100000.0, null, LocalDate.of(2020, 1, 1)));
+        }
+
+        // Assert
+        assertEquals(false, writeBehindBuffer.hasPending());
+        assertEquals(300000.0, employeeRepository.sumSalaryByRole("developer"), 0.001);
+    }
+
+    @Test
+    public void testSyncUpdateIsWrittenImmediatelyAndSupersedesPendingChange() throws Exception {
+        // Arrange
+        employeeService.enqueueUpdate(janeId, new Employee(null, "Jane Smith", "Developer", 75000.0, null, LocalDate.of(2021, 3, 15)));
+
+        // Act
+        mockMvc.perform(put("/api/employees/" + janeId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Smith\",\"role\":\"Developer\",\"salary\":72000.0,\"hiringDate\":\"2021-03-15\"}"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(put("/api/employees/" + janeId).param("sync", "true").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Smith\",\"role\":\"Developer\",\"salary\":78000.0,\"hiringDate\":\"2021-03-15\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(false, writeBehindBuffer.hasPending());
+        assertEquals(0, writeBehindBuffer.flush());
+        assertEquals(78000.0, employeeRepository.findById(janeId).orElseThrow().getSalary(), 0.001);
+    }
+
+    @Test
+    public void testUpdateOfUnknownEmployeeIsNotBuffered() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/" + (janeId + 1000)).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Nobody\",\"role\":\"Developer\",\"salary\":72000.0,\"hiringDate\":\"2021-03-15\"}"))
+                .andExpect(status().isNotFound());
+        assertEquals(false, writeBehindBuffer.hasPending());
+    }
+
+    @Test
+    public void testBufferedChangeIsServedUnderANewETag() throws Exception {
+        // Arrange
+        employeeService.enqueueUpdate(johnId, new Employee(null, "John Doe", "Manager", 85000.0, null, LocalDate.of(2020, 1, 1)));
+
+        // Act
+        String etag = mockMvc.perform(get("/api/employees/" + johnId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salary", closeTo(85000.0, 0.001)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        assertNotEquals("\"0\"", etag);
+        mockMvc.perform(get("/api/employees/" + johnId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}